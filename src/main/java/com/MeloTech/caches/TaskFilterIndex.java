@@ -0,0 +1,294 @@
+package com.MeloTech.caches;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+
+/**
+ * In-memory filter index over the tasks of the most recently filtered projects.
+ * <p>
+ * Each project's live tasks get dense ordinals, and every status, label and assignee maps to a bitmap of the
+ * ordinals using it. Any combination of any-of, all-of and none-of filters is then a handful of bitwise
+ * operations instead of a MongoDB query. A project is loaded on its first filter request and kept current from
+ * {@link TaskChangedEvent}s; the least recently used projects are dropped beyond the configured count.
+ */
+@Component
+public class TaskFilterIndex {
+    private final Map<String, ProjectIndex> projects = new ConcurrentHashMap<>();
+    private final TaskRepository taskRepository;
+    private final int maxProjects;
+    private final boolean localSource;
+
+    public TaskFilterIndex(TaskRepository taskRepository,
+                           @Value("${tasks.filter-index.max-projects:64}") int maxProjects,
+                           @Value("${tasks.events.source:local}") String eventSource) {
+        this.taskRepository = taskRepository;
+        this.maxProjects = maxProjects;
+        this.localSource = "local".equals(eventSource);
+    }
+
+    /**
+     * Filters the tasks of a project, loading its index first if needed.
+     *
+     * @param projectId The ID of the project.
+     * @param filter    The filter to apply.
+     * @return Copies of the matching tasks, which callers may change freely.
+     */
+    public List<Task> filter(String projectId, Filter filter) {
+        ProjectIndex index = projects.computeIfAbsent(projectId, id -> new ProjectIndex());
+        index.lastAccess = System.nanoTime();
+        evictLeastRecentlyUsed();
+        List<Task> matches;
+        // Loops only if the index is dropped for compaction between loading and filtering
+        while ((matches = index.filter(filter)) == null) {
+            index.ensureLoaded(() -> taskRepository.findByProjectIdAndDeletedFalse(projectId));
+        }
+        return matches;
+    }
+
+    /**
+     * Applies task changes made through TaskService, unless events come from MongoDB change streams instead: each
+     * change must reach the index once, or a late duplicate could overwrite a newer change.
+     *
+     * @param event The task change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (localSource) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Applies a task change to the index of its project, if that project is indexed.
+     *
+     * @param event The task change.
+     */
+    public void apply(TaskChangedEvent event) {
+        ProjectIndex index = projects.get(event.projectId());
+        if (index != null) {
+            index.apply(event);
+        }
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (projects.size() > maxProjects) {
+            projects.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> projects.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    /**
+     * A filter over statuses, labels and assignees; empty sets do not constrain.
+     *
+     * @param statusIds          Tasks must have one of these statuses.
+     * @param labelIds           Tasks must have one of these labels, or all of them when {@code allLabels} is set.
+     * @param allLabels          Whether every label in {@code labelIds} is required.
+     * @param assigneeIds        Tasks must be assigned to one of these users.
+     * @param excludeStatusIds   Tasks must not have any of these statuses.
+     * @param excludeLabelIds    Tasks must not have any of these labels.
+     * @param excludeAssigneeIds Tasks must not be assigned to any of these users.
+     */
+    public record Filter(Set<String> statusIds, Set<String> labelIds, boolean allLabels, Set<String> assigneeIds,
+                         Set<String> excludeStatusIds, Set<String> excludeLabelIds, Set<String> excludeAssigneeIds) {
+    }
+
+    private static final class ProjectIndex {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<Task> tasks = new ArrayList<>(); // by ordinal, null once deleted
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final Set<String> deletedIds = new HashSet<>(); // a late update must not bring these back
+        private final BitSet live = new BitSet();
+        private final Map<String, BitSet> byStatus = new HashMap<>();
+        private final Map<String, BitSet> byLabel = new HashMap<>();
+        private final Map<String, BitSet> byAssignee = new HashMap<>();
+        private boolean loaded;
+        private volatile long lastAccess = System.nanoTime();
+
+        private void ensureLoaded(Supplier<List<Task>> loader) {
+            lock.readLock().lock();
+            try {
+                if (loaded) {
+                    return;
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            lock.writeLock().lock();
+            try {
+                // Changes published while the tasks are read wait for the lock and are applied on top
+                if (!loaded) {
+                    reset();
+                    loader.get().forEach(this::put);
+                    loaded = true;
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        /**
+         * @return The matching tasks, or null when the index is not loaded.
+         */
+        private List<Task> filter(Filter filter) {
+            lock.readLock().lock();
+            try {
+                if (!loaded) {
+                    return null;
+                }
+                BitSet result = (BitSet) live.clone();
+                if (!filter.statusIds().isEmpty()) {
+                    result.and(union(byStatus, filter.statusIds()));
+                }
+                if (!filter.labelIds().isEmpty()) {
+                    if (filter.allLabels()) {
+                        for (String labelId : filter.labelIds()) {
+                            result.and(byLabel.getOrDefault(labelId, new BitSet()));
+                        }
+                    } else {
+                        result.and(union(byLabel, filter.labelIds()));
+                    }
+                }
+                if (!filter.assigneeIds().isEmpty()) {
+                    result.and(union(byAssignee, filter.assigneeIds()));
+                }
+                result.andNot(union(byStatus, filter.excludeStatusIds()));
+                result.andNot(union(byLabel, filter.excludeLabelIds()));
+                result.andNot(union(byAssignee, filter.excludeAssigneeIds()));
+
+                List<Task> matches = new ArrayList<>(result.cardinality());
+                // Copies: the indexed tasks must stay in sync with the bitmaps
+                result.stream().forEach(ordinal -> matches.add(Task.copyOf(tasks.get(ordinal))));
+                return matches;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private void apply(TaskChangedEvent event) {
+            lock.writeLock().lock();
+            try {
+                if (!loaded) {
+                    // Not loaded yet: the coming load reads this change from MongoDB
+                    return;
+                }
+                // Copied: the published task is also handed back to the caller that changed it
+                Task task = event.task() == null ? null : Task.copyOf(event.task());
+                Integer ordinal = ordinals.get(event.taskId());
+                if (event.type() == TaskChangedEvent.Type.DELETED || task == null || task.isDeleted()) {
+                    deletedIds.add(event.taskId());
+                    if (ordinal != null) {
+                        ordinals.remove(event.taskId());
+                        unmark(tasks.set(ordinal, null), ordinal);
+                        live.clear(ordinal);
+                    }
+                } else if (deletedIds.contains(event.taskId()) || (ordinal != null && isOlder(task, tasks.get(ordinal)))) {
+                    // Published out of order: concurrent changes to a task commit and notify in any order
+                    return;
+                } else if (ordinal != null) {
+                    // Updates keep their ordinal, only the bitmaps that changed membership are touched
+                    unmark(tasks.set(ordinal, task), ordinal);
+                    mark(task, ordinal);
+                } else {
+                    put(task);
+                }
+                // Too many holes left by deletions: start over on the next request
+                if (tasks.size() > 64 && ordinals.size() < tasks.size() / 2) {
+                    loaded = false;
+                    reset();
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private static boolean isOlder(Task task, Task indexed) {
+            return task.getLastUpdateTime() != null && indexed.getLastUpdateTime() != null
+                    && task.getLastUpdateTime().isBefore(indexed.getLastUpdateTime());
+        }
+
+        private void put(Task task) {
+            int ordinal = tasks.size();
+            tasks.add(task);
+            ordinals.put(task.getId(), ordinal);
+            live.set(ordinal);
+            mark(task, ordinal);
+        }
+
+        private void mark(Task task, int ordinal) {
+            if (task.getStatusId() != null) {
+                byStatus.computeIfAbsent(task.getStatusId(), id -> new BitSet()).set(ordinal);
+            }
+            mark(byLabel, task.getLabelIds(), ordinal);
+            mark(byAssignee, task.getAssigneeIds(), ordinal);
+        }
+
+        private void unmark(Task task, int ordinal) {
+            if (task.getStatusId() != null) {
+                unmark(byStatus, List.of(task.getStatusId()), ordinal);
+            }
+            unmark(byLabel, task.getLabelIds(), ordinal);
+            unmark(byAssignee, task.getAssigneeIds(), ordinal);
+        }
+
+        private void reset() {
+            tasks.clear();
+            ordinals.clear();
+            deletedIds.clear();
+            live.clear();
+            byStatus.clear();
+            byLabel.clear();
+            byAssignee.clear();
+        }
+
+        private static void mark(Map<String, BitSet> bitmaps, Collection<String> keys, int ordinal) {
+            if (keys != null) {
+                keys.forEach(key -> bitmaps.computeIfAbsent(key, id -> new BitSet()).set(ordinal));
+            }
+        }
+
+        private static void unmark(Map<String, BitSet> bitmaps, Collection<String> keys, int ordinal) {
+            if (keys == null) {
+                return;
+            }
+            for (String key : keys) {
+                BitSet bitmap = bitmaps.get(key);
+                if (bitmap != null) {
+                    bitmap.clear(ordinal);
+                    if (bitmap.isEmpty()) {
+                        bitmaps.remove(key);
+                    }
+                }
+            }
+        }
+
+        private static BitSet union(Map<String, BitSet> bitmaps, Set<String> keys) {
+            BitSet result = new BitSet();
+            for (String key : keys) {
+                BitSet bitmap = bitmaps.get(key);
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.MeloTech.caches;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Optional in-memory interval index over the dates of the most recently viewed projects, for Gantt views that
+ * scroll their window continuously.
+ * <p>
+ * A project's task spans ({@code [startDate, endDate]}) and due dates (as zero-length spans) are sorted by start,
+ * with a running maximum of the ends. An overlap query binary-searches the last span starting before the window's
+ * end and walks back only while that running maximum can still reach the window's start, the implicit form of an
+ * augmented interval tree. Snapshots are immutable; a task change marks its project's snapshot stale and the next
+ * query rebuilds it.
+ */
+@Component
+public class TaskIntervalIndex {
+    private final Map<String, Snapshot> snapshots = new ConcurrentHashMap<>();
+    private final TaskRepository taskRepository;
+    private final boolean enabled;
+    private final int maxProjects;
+    private final boolean localSource;
+
+    public TaskIntervalIndex(TaskRepository taskRepository,
+                             @Value("${tasks.calendar.interval-index.enabled:false}") boolean enabled,
+                             @Value("${tasks.calendar.interval-index.max-projects:32}") int maxProjects,
+                             @Value("${tasks.events.source:local}") String eventSource) {
+        this.taskRepository = taskRepository;
+        this.enabled = enabled;
+        this.maxProjects = maxProjects;
+        this.localSource = "local".equals(eventSource);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Finds the tasks of a project whose span overlaps [from, to] or that are due within it.
+     *
+     * @param projectId The ID of the project.
+     * @param from      The start of the window.
+     * @param to        The end of the window.
+     * @return The matching tasks, each once, ordered by start.
+     */
+    public List<Task> findOverlapping(String projectId, LocalDateTime from, LocalDateTime to) {
+        Snapshot snapshot = snapshots.get(projectId);
+        if (snapshot == null || snapshot.stale) {
+            // Park a marker first: a change published while the tasks are read replaces it, and the stale
+            // snapshot is then used for this request only instead of being cached
+            Snapshot marker = Snapshot.stale();
+            boolean parked = snapshot == null
+                    ? snapshots.putIfAbsent(projectId, marker) == null
+                    : snapshots.replace(projectId, snapshot, marker);
+            snapshot = Snapshot.of(taskRepository.findByProjectIdAndDeletedFalse(projectId));
+            if (parked && snapshots.replace(projectId, marker, snapshot)) {
+                evictLeastRecentlyUsed();
+            }
+        }
+        snapshot.lastAccess = System.nanoTime();
+        return snapshot.overlapping(from, to);
+    }
+
+    /**
+     * Applies task changes made through TaskService, unless events come from MongoDB change streams instead, which
+     * also carry the changes made on other nodes.
+     *
+     * @param event The task change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (localSource) {
+            apply(event);
+        }
+    }
+
+    /**
+     * Marks the snapshot of the changed task's project stale, if that project is indexed.
+     *
+     * @param event The task change.
+     */
+    public void apply(TaskChangedEvent event) {
+        snapshots.computeIfPresent(event.projectId(), (id, snapshot) -> Snapshot.stale());
+    }
+
+    private void evictLeastRecentlyUsed() {
+        while (snapshots.size() > maxProjects) {
+            snapshots.entrySet().stream()
+                    .min(Comparator.comparingLong(entry -> entry.getValue().lastAccess))
+                    .ifPresent(entry -> snapshots.remove(entry.getKey(), entry.getValue()));
+        }
+    }
+
+    private record Span(LocalDateTime start, LocalDateTime end, Task task) {
+    }
+
+    private static final class Snapshot {
+        private final Span[] spans; // sorted by start
+        private final LocalDateTime[] maxEnd; // maxEnd[i] = latest end among spans[0..i]
+        private final boolean stale;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Snapshot(Span[] spans, boolean stale) {
+            this.spans = spans;
+            this.stale = stale;
+            this.maxEnd = new LocalDateTime[spans.length];
+            for (int i = 0; i < spans.length; i++) {
+                LocalDateTime end = spans[i].end();
+                maxEnd[i] = i == 0 || end.isAfter(maxEnd[i - 1]) ? end : maxEnd[i - 1];
+            }
+        }
+
+        private static Snapshot of(List<Task> tasks) {
+            List<Span> spans = new ArrayList<>();
+            for (Task task : tasks) {
+                // Same rules as TaskRepository.findOverlapping: a span ending before its start still matches the
+                // windows with start <= to and end >= from, which the walk below checks as for any other span
+                if (task.getStartDate() != null && task.getEndDate() != null) {
+                    spans.add(new Span(task.getStartDate(), task.getEndDate(), task));
+                }
+                if (task.getDueDate() != null) {
+                    spans.add(new Span(task.getDueDate(), task.getDueDate(), task));
+                }
+            }
+            Span[] sorted = spans.toArray(Span[]::new);
+            Arrays.sort(sorted, Comparator.comparing(Span::start));
+            return new Snapshot(sorted, false);
+        }
+
+        private static Snapshot stale() {
+            return new Snapshot(new Span[0], true);
+        }
+
+        private List<Task> overlapping(LocalDateTime from, LocalDateTime to) {
+            // Index of the last span starting at or before the window's end
+            int low = 0;
+            int high = spans.length - 1;
+            int last = -1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (spans[mid].start().isAfter(to)) {
+                    high = mid - 1;
+                } else {
+                    last = mid;
+                    low = mid + 1;
+                }
+            }
+
+            List<Span> matches = new ArrayList<>();
+            for (int i = last; i >= 0 && !maxEnd[i].isBefore(from); i--) {
+                if (!spans[i].end().isBefore(from)) {
+                    matches.add(spans[i]);
+                }
+            }
+            // Walked backwards; report by start and once per task
+            Map<String, Task> tasks = new LinkedHashMap<>();
+            for (int i = matches.size() - 1; i >= 0; i--) {
+                tasks.putIfAbsent(matches.get(i).task().getId(), matches.get(i).task());
+            }
+            return new ArrayList<>(tasks.values());
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.MeloTech.caches;
+
+import com.MeloTech.dtos.UserDto;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Users already looked up while serving the current request, so the same ID is never read twice per request.
+ * Unknown IDs are remembered too.
+ */
+@Component
+@RequestScope
+public class UserLookupMemo {
+    private final Map<String, Optional<UserDto>> users = new HashMap<>();
+
+    /**
+     * @param ids The IDs about to be resolved.
+     * @return The IDs not looked up yet in this request.
+     */
+    public List<String> missing(Collection<String> ids) {
+        return ids.stream().filter(id -> !users.containsKey(id)).toList();
+    }
+
+    /**
+     * Records the result of looking up a set of IDs.
+     *
+     * @param requested The IDs that were looked up.
+     * @param found     The users found for them.
+     */
+    public void remember(Collection<String> requested, List<UserDto> found) {
+        requested.forEach(id -> users.put(id, Optional.empty()));
+        found.forEach(user -> users.put(user.getId(), Optional.of(user)));
+    }
+
+    /**
+     * @param id The ID of a user looked up earlier in this request.
+     * @return The user, or empty if the ID is unknown.
+     */
+    public Optional<UserDto> get(String id) {
+        return users.getOrDefault(id, Optional.empty());
+    }
+}
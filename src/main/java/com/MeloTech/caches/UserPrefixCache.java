@@ -0,0 +1,99 @@
+package com.MeloTech.caches;
+
+import com.MeloTech.dtos.UserDto;
+import com.MeloTech.entities.User;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Small in-memory cache for the hottest username prefixes of the member picker.
+ * <p>
+ * A cached prefix whose result was not truncated by the limit holds every matching user,
+ * so it can also answer any longer prefix by filtering in memory without hitting MongoDB.
+ */
+@Component
+public class UserPrefixCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    public UserPrefixCache(@Value("${users.search.cache.max-entries:1024}") int maxEntries,
+                           @Value("${users.search.cache.ttl:30s}") Duration ttl) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Looks up the users matching a normalized prefix.
+     *
+     * @param prefix The lowercase prefix.
+     * @param limit  The maximum number of users wanted.
+     * @return The cached users, or null on a cache miss.
+     */
+    public List<UserDto> get(String prefix, int limit) {
+        long now = System.nanoTime();
+
+        Entry exact = entries.get(prefix);
+        if (exact != null && !exact.isExpired(now) && (exact.complete || exact.users.size() >= limit)) {
+            return exact.users.size() <= limit ? exact.users : exact.users.subList(0, limit);
+        }
+
+        // Walk up to shorter prefixes whose result set is known to be complete
+        for (int length = prefix.length() - 1; length > 0; length--) {
+            Entry shorter = entries.get(prefix.substring(0, length));
+            if (shorter != null && shorter.complete && !shorter.isExpired(now)) {
+                return shorter.users.stream()
+                        .filter(user -> User.normalizeUsername(user.getUsername()).startsWith(prefix))
+                        .limit(limit)
+                        .toList();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Caches the users matching a normalized prefix.
+     *
+     * @param prefix The lowercase prefix.
+     * @param limit  The limit the query was executed with.
+     * @param users  The users returned by the query.
+     */
+    public void put(String prefix, int limit, List<UserDto> users) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (entries.size() >= maxEntries) {
+            evict(now);
+        }
+        entries.put(prefix, new Entry(List.copyOf(users), users.size() < limit, now + ttlNanos));
+    }
+
+    /**
+     * Drops every cached prefix, called whenever a username is created or changed.
+     */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    private void evict(long now) {
+        entries.values().removeIf(entry -> entry.isExpired(now));
+        Iterator<String> keys = entries.keySet().iterator();
+        while (entries.size() >= maxEntries && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+    }
+
+    private record Entry(List<UserDto> users, boolean complete, long expiresAt) {
+        boolean isExpired(long now) {
+            return now - expiresAt > 0;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.MeloTech.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables @Async methods. They run on Spring Boot's applicationTaskExecutor,
+ * which switches to virtual threads when spring.threads.virtual.enabled=true.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {
+}
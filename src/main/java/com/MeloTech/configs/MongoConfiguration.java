@@ -0,0 +1,39 @@
+package com.MeloTech.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.MongoTransactionManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class MongoConfiguration {
+
+    /**
+     * Backs the services' @Transactional boundaries with MongoDB multi-document transactions.
+     * Only enabled on deployments running a replica set (e.g. MongoDB Atlas), since standalone servers reject them.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "mongodb.transactions.enabled", havingValue = "true")
+    MongoTransactionManager transactionManager(MongoDatabaseFactory mongoDatabaseFactory) {
+        return new MongoTransactionManager(mongoDatabaseFactory);
+    }
+
+    /**
+     * Bounds the driver connection pool. With virtual threads thousands of requests can block on MongoDB at once,
+     * so waiting for a pooled connection must fail fast instead of queueing for the driver's default two minutes.
+     */
+    @Bean
+    MongoClientSettingsBuilderCustomizer connectionPoolCustomizer(
+            @Value("${mongodb.pool.max-size:100}") int maxSize,
+            @Value("${mongodb.pool.max-wait:10s}") Duration maxWait) {
+        return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+                .maxSize(maxSize)
+                .maxWaitTime(maxWait.toMillis(), TimeUnit.MILLISECONDS));
+    }
+}
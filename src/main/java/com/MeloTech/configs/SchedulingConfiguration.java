@@ -0,0 +1,12 @@
+package com.MeloTech.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables @Scheduled housekeeping jobs.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfiguration {
+}
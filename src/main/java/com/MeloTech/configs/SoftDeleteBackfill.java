@@ -0,0 +1,37 @@
+package com.MeloTech.configs;
+
+import com.MeloTech.entities.Label;
+import com.MeloTech.entities.Status;
+import com.MeloTech.entities.Task;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Marks tasks, statuses and labels created before soft delete existed as live, so the {@code deleted: false}
+ * queries and partial indexes see them.
+ */
+@Component
+public class SoftDeleteBackfill implements ApplicationRunner {
+    private final MongoTemplate mongoTemplate;
+
+    public SoftDeleteBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Query missing = new Query(Criteria.where("deleted").exists(false));
+        Update live = new Update().set("deleted", false);
+
+        for (Class<?> entityClass : List.of(Task.class, Status.class, Label.class)) {
+            mongoTemplate.updateMulti(missing, live, entityClass);
+        }
+    }
+}
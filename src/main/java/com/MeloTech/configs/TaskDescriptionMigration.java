@@ -0,0 +1,107 @@
+package com.MeloTech.configs;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.entities.TaskDescription;
+import com.MeloTech.services.TaskDescriptionStore;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves the long descriptions of tasks saved before they were stored outside the task documents, in batches.
+ * <p>
+ * A task is only rewritten if its description is still the one copied, so an edit racing the migration wins.
+ * Completion is recorded with the threshold it ran for, so later starts skip the full scan unless the threshold is
+ * lowered; a run that had to leave a task behind records nothing, so the next start picks it up.
+ */
+@Component
+public class TaskDescriptionMigration implements ApplicationRunner {
+    private static final String MIGRATIONS_COLLECTION = "migrations";
+    private static final String MIGRATION_ID = "task-descriptions";
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskDescriptionStore taskDescriptionStore;
+    private final int threshold;
+    private final int batchSize;
+
+    public TaskDescriptionMigration(MongoTemplate mongoTemplate, TaskDescriptionStore taskDescriptionStore,
+                                    @Value("${tasks.description.external-threshold:4096}") int threshold,
+                                    @Value("${tasks.description.migration-batch-size:200}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskDescriptionStore = taskDescriptionStore;
+        this.threshold = threshold;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (threshold <= 0 || completedFor(threshold)) {
+            return;
+        }
+        Criteria longDescription = Criteria.expr(() -> new Document("$gt", List.of(
+                new Document("$strLenCP", new Document("$ifNull", List.of("$description", ""))), threshold)));
+        String lastId = null;
+        boolean complete = true;
+        while (true) {
+            Criteria criteria = new Criteria().andOperator(longDescription, Criteria.where("descriptionExternal").ne(true).and("deleted").is(false));
+            if (lastId != null) {
+                criteria = new Criteria().andOperator(criteria, Criteria.where("id").gt(lastId));
+            }
+            Query batch = new Query(criteria).with(Sort.by("id")).limit(batchSize);
+            batch.fields().include("id", "projectId", "description");
+            List<Task> tasks = mongoTemplate.find(batch, Task.class);
+            for (Task task : tasks) {
+                complete &= migrate(task);
+            }
+            if (tasks.size() < batchSize) {
+                break;
+            }
+            lastId = tasks.get(tasks.size() - 1).getId();
+        }
+        if (!complete) {
+            return; // scanned again on the next start
+        }
+        mongoTemplate.save(new Document("_id", MIGRATION_ID).append("threshold", threshold)
+                .append("completedAt", LocalDateTime.now()), MIGRATIONS_COLLECTION);
+    }
+
+    private boolean completedFor(int threshold) {
+        Document marker = mongoTemplate.findById(MIGRATION_ID, Document.class, MIGRATIONS_COLLECTION);
+        // Descriptions moved at a threshold are moved at any higher one too
+        return marker != null && marker.getInteger("threshold", Integer.MAX_VALUE) <= threshold;
+    }
+
+    /**
+     * @return Whether the task is done with: migrated, or changed meanwhile by an edit that stores it itself.
+     */
+    private boolean migrate(Task task) {
+        // Copy first: the task keeps its description until the copy exists
+        TaskDescription stored = taskDescriptionStore.insertIfAbsent(task.getId(), task.getProjectId(), task.getDescription());
+        if (stored == null) {
+            // Either copied by a run that stopped before updating the task, or stored by an edit meanwhile
+            stored = taskDescriptionStore.findIfEqual(task.getId(), task.getDescription());
+            if (stored == null) {
+                return false;
+            }
+        }
+        Query unchanged = new Query(Criteria.where("id").is(task.getId()).and("description").is(task.getDescription()));
+        Update external = new Update().unset("description").set("descriptionExternal", true);
+        if (mongoTemplate.updateFirst(unchanged, external, Task.class).getMatchedCount() == 0) {
+            Task current = mongoTemplate.findById(task.getId(), Task.class);
+            if (current == null || !current.isDescriptionExternal()) {
+                taskDescriptionStore.deleteIfUnchanged(stored);
+            }
+        }
+        return true;
+    }
+}
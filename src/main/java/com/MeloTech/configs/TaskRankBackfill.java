@@ -0,0 +1,38 @@
+package com.MeloTech.configs;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.services.TaskRankRebalancer;
+import org.bson.Document;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+/**
+ * Schedules the board columns holding tasks created before ranks existed for rebalancing, which ranks them in
+ * creation order.
+ */
+@Component
+public class TaskRankBackfill implements ApplicationRunner {
+    private final MongoTemplate mongoTemplate;
+    private final TaskRankRebalancer taskRankRebalancer;
+
+    public TaskRankBackfill(MongoTemplate mongoTemplate, TaskRankRebalancer taskRankRebalancer) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRankRebalancer = taskRankRebalancer;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Aggregation unrankedColumns = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("rank").exists(false).and("deleted").is(false)),
+                Aggregation.group("projectId", "statusId")
+        );
+        for (Document column : mongoTemplate.aggregate(unrankedColumns, Task.class, Document.class)) {
+            Document key = column.get("_id", Document.class);
+            taskRankRebalancer.request(key.getString("projectId"), key.getString("statusId"));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.MeloTech.configs;
+
+import com.MeloTech.entities.User;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills in the lowercase username used by prefix search for users created before the field existed.
+ */
+@Component
+public class UsernameLowercaseBackfill implements ApplicationRunner {
+    private final MongoTemplate mongoTemplate;
+
+    public UsernameLowercaseBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        // Single server-side pipeline update, no documents are loaded into the application
+        Query missing = new Query(Criteria.where("usernameLowercase").exists(false));
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("usernameLowercase").toValue(StringOperators.valueOf("username").toLower());
+
+        mongoTemplate.updateMulti(missing, update, User.class);
+    }
+}
@@ -0,0 +1,68 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.services.TaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the tasks assigned to a user across all of their projects.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/tasks")
+@Tag(name = "My Tasks", description = "APIs for the tasks assigned to a user across projects")
+@Validated
+public class AssignedTaskController {
+    private final TaskService taskService;
+
+    @Autowired
+    public AssignedTaskController(TaskService taskService) {
+        this.taskService = taskService;
+    }
+
+    /**
+     * Gets the tasks assigned to a user in every project they own or belong to.
+     *
+     * @param userId The ID of the user.
+     * @param page   The page number, starting at 0.
+     * @param size   The page size.
+     * @return A response entity containing a slice of the user's tasks.
+     */
+    @Operation(
+            summary = "Get my tasks",
+            description = "Retrieves the tasks assigned to the user across all projects they own or belong to, soonest due first (tasks without a due date come first). " +
+                    "Pages are slices: hasNext tells whether another page exists."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Tasks retrieved successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = Slice.class),
+                    examples = @ExampleObject(
+                            value = "{\"content\": [{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"assigneeIds\": [\"user-1\"], \"dueDate\": \"2023-12-31T00:00:00\", \"projectId\": \"project-123\"}], \"number\": 0, \"size\": 20, \"hasNext\": false}"
+                    )
+            )
+    )
+    @GetMapping("")
+    public ResponseEntity<Slice<Task>> getAssignedTasks(
+            @PathVariable String userId,
+            @Parameter(description = "Page number, starting at 0")
+            @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size")
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(taskService.getAssignedTasks(userId, page, size));
+    }
+}
@@ -0,0 +1,64 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.dtos.CleanupJobDto;
+import com.MeloTech.services.TaskReferenceCleanupService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for following the background cleanup that runs after a status or label is deleted.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/cleanup-jobs")
+@Tag(name = "Cleanup Jobs", description = "APIs for following task updates after a status or label is deleted")
+public class CleanupJobController {
+    private final TaskReferenceCleanupService taskReferenceCleanupService;
+
+    @Autowired
+    public CleanupJobController(TaskReferenceCleanupService taskReferenceCleanupService) {
+        this.taskReferenceCleanupService = taskReferenceCleanupService;
+    }
+
+    /**
+     * Gets the progress of a cleanup job.
+     *
+     * @param projectId The ID of the project.
+     * @param jobId     The ID of the job.
+     * @return A response entity containing the job if it is known and belongs to the project.
+     */
+    @Operation(
+            summary = "Get cleanup progress",
+            description = "Retrieves the progress of the task updates started by deleting a status or label. Finished jobs are kept for an hour."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Job found",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CleanupJobDto.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"job-123\", \"projectId\": \"project-123\", \"referenceType\": \"LABEL\", \"referenceId\": \"label-456\", \"total\": 25000, \"processed\": 12500, \"state\": \"RUNNING\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Job not found"
+            )
+    })
+    @GetMapping("/{jobId}")
+    public ResponseEntity<?> getJob(@PathVariable String projectId, @PathVariable String jobId) {
+        return taskReferenceCleanupService.getJob(projectId, jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.MeloTech.controllers;
 
+import com.MeloTech.dtos.CleanupJobDto;
 import com.MeloTech.entities.Label;
 import com.MeloTech.services.LabelService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -198,17 +199,29 @@ public class LabelController {
      *
      * @param projectId The ID of the project.
      * @param id        The ID of the label to delete.
-     * @return A response entity indicating success or failure.
+     * @return A response entity indicating success or failure, with the cleanup job while it is still running.
      */
     @Operation(
             summary = "Delete a label",
-            description = "Deletes a label if it belongs to the specified project."
+            description = "Deletes a label if it belongs to the specified project. It is removed from every task using it." +
+                    " Big projects are updated in the background; poll the returned job under cleanup-jobs for progress."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "204",
                     description = "Label deleted successfully"
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Label deleted, its tasks are being updated in the background",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CleanupJobDto.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"job-123\", \"projectId\": \"project-123\", \"referenceType\": \"LABEL\", \"referenceId\": \"label-123\", \"total\": 25000, \"processed\": 0, \"state\": \"RUNNING\"}"
+                            )
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Label does not belong to the project",
@@ -229,7 +242,10 @@ public class LabelController {
     @DeleteMapping("/{id}")
     public ResponseEntity<?> deleteLabel(@PathVariable String projectId, @PathVariable String id) {
         try {
-            labelService.deleteLabel(projectId, id);
+            CleanupJobDto job = labelService.deleteLabel(projectId, id);
+            if (job.getState() == CleanupJobDto.State.RUNNING) {
+                return ResponseEntity.accepted().body(job);
+            }
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
@@ -0,0 +1,64 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.services.ReactiveTaskService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming task reads, only active with the "reactive" profile.
+ * <p>
+ * Shares the path of {@link TaskController} and is selected by content negotiation:
+ * requests accepting application/x-ndjson get a backpressured stream, all others keep the JSON array.
+ */
+@RestController
+@Profile("reactive")
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks")
+@Tag(name = "Task Management", description = "APIs for managing tasks within a project")
+public class ReactiveTaskController {
+    private final ReactiveTaskService reactiveTaskService;
+
+    public ReactiveTaskController(ReactiveTaskService reactiveTaskService) {
+        this.reactiveTaskService = reactiveTaskService;
+    }
+
+    /**
+     * Streams all tasks in a project, optionally filtered by status or label.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  (Optional) The ID of the status to filter by.
+     * @param labelId   (Optional) The ID of the label to filter by.
+     * @return A flux of tasks written one per line as they are read.
+     */
+    @Operation(
+            summary = "Stream all tasks in a project",
+            description = "Streams the tasks of the specified project as newline-delimited JSON, optionally filtered by status or label. " +
+                    "Tasks are written as they arrive from the database and the read is paced by the client."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Tasks streamed successfully",
+            content = @Content(
+                    mediaType = "application/x-ndjson",
+                    schema = @Schema(implementation = Task.class),
+                    examples = @ExampleObject(
+                            value = "{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"labelIds\": [\"label-456\"], \"projectId\": \"project-123\"}\n{\"id\": \"task-124\", \"title\": \"Write Docs\", \"statusId\": \"status-123\", \"labelIds\": [], \"projectId\": \"project-123\"}"
+                    )
+            )
+    )
+    @GetMapping(value = "", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Task> streamAllTasksInProject(
+            @PathVariable String projectId,
+            @RequestParam(required = false) String statusId,
+            @RequestParam(required = false) String labelId) {
+        return reactiveTaskService.getFilteredTasks(projectId, statusId, labelId);
+    }
+}
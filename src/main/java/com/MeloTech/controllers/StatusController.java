@@ -1,5 +1,6 @@
 package com.MeloTech.controllers;
 
+import com.MeloTech.dtos.CleanupJobDto;
 import com.MeloTech.entities.Status;
 import com.MeloTech.services.StatusService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -204,19 +205,32 @@ public class StatusController {
     /**
      * Deletes a status and ensures it belongs to the project.
      *
-     * @param projectId The ID of the project.
-     * @param id        The ID of the status to delete.
-     * @return A response entity indicating success or failure.
+     * @param projectId        The ID of the project.
+     * @param id               The ID of the status to delete.
+     * @param fallbackStatusId (Optional) The ID of the status that takes over the deleted status's tasks.
+     * @return A response entity indicating success or failure, with the cleanup job while it is still running.
      */
     @Operation(
             summary = "Delete a status",
-            description = "Deletes a status if it belongs to the specified project."
+            description = "Deletes a status if it belongs to the specified project. Tasks using it are moved to the fallback status, or left without a status when none is given." +
+                    " Big projects are updated in the background; poll the returned job under cleanup-jobs for progress."
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "204",
                     description = "Status deleted successfully"
             ),
+            @ApiResponse(
+                    responseCode = "202",
+                    description = "Status deleted, its tasks are being updated in the background",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = CleanupJobDto.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"job-123\", \"projectId\": \"project-123\", \"referenceType\": \"STATUS\", \"referenceId\": \"status-123\", \"total\": 25000, \"processed\": 0, \"state\": \"RUNNING\"}"
+                            )
+                    )
+            ),
             @ApiResponse(
                     responseCode = "400",
                     description = "Status does not belong to the project",
@@ -235,9 +249,13 @@ public class StatusController {
             )
     })
     @DeleteMapping("/{id}")
-    public ResponseEntity<?> deleteStatus(@PathVariable String projectId, @PathVariable String id) {
+    public ResponseEntity<?> deleteStatus(@PathVariable String projectId, @PathVariable String id,
+                                          @RequestParam(required = false) String fallbackStatusId) {
         try {
-            statusService.deleteStatus(projectId, id);
+            CleanupJobDto job = statusService.deleteStatus(projectId, id, fallbackStatusId);
+            if (job.getState() == CleanupJobDto.State.RUNNING) {
+                return ResponseEntity.accepted().body(job);
+            }
             return ResponseEntity.noContent().build();
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(e.getMessage());
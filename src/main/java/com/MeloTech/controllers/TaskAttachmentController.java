@@ -0,0 +1,250 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.dtos.AttachmentDto;
+import com.MeloTech.exceptions.AttachmentTooLargeException;
+import com.MeloTech.exceptions.TaskNotFoundException;
+import com.MeloTech.services.TaskAttachmentService;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Controller for the files attached to a task.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks/{taskId}/attachments")
+@Tag(name = "Task Attachments", description = "APIs for uploading and downloading task attachments")
+public class TaskAttachmentController {
+    private final TaskAttachmentService taskAttachmentService;
+
+    @Autowired
+    public TaskAttachmentController(TaskAttachmentService taskAttachmentService) {
+        this.taskAttachmentService = taskAttachmentService;
+    }
+
+    /**
+     * Uploads a file and attaches it to a task. The request body is the raw file content.
+     *
+     * @param userId    The ID of the uploading user.
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param filename  The name of the file.
+     * @param request   The request, whose body is streamed into storage.
+     * @return A response entity containing the stored attachment or an error message.
+     * @throws IOException If the request body can't be read.
+     */
+    @Operation(
+            summary = "Upload an attachment",
+            description = "Attaches a file to the task. Send the raw file content as the request body (not multipart) with its Content-Type; " +
+                    "it is streamed into storage without being buffered. Files over the size limit (25 MB by default) are rejected with 413."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Attachment uploaded successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = AttachmentDto.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f6\", \"filename\": \"screenshot.png\", \"contentType\": \"image/png\", \"length\": 48213, \"uploadDate\": \"2024-01-10T09:31:12\", \"uploaderId\": \"user-1\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing filename",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "filename is required")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Task not found")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "413",
+                    description = "File too large",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Attachments are limited to 26214400 bytes")
+                    )
+            )
+    })
+    @PostMapping(consumes = MediaType.ALL_VALUE)
+    public ResponseEntity<?> uploadAttachment(
+            @PathVariable String userId,
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @Parameter(description = "Name of the file")
+            @RequestParam String filename,
+            HttpServletRequest request) throws IOException {
+        String contentType = request.getContentType() == null ? MediaType.APPLICATION_OCTET_STREAM_VALUE : request.getContentType();
+        try {
+            return ResponseEntity.ok(taskAttachmentService.upload(projectId, taskId, userId, filename, contentType,
+                    request.getContentLengthLong(), request.getInputStream()));
+        } catch (AttachmentTooLargeException e) {
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (TaskNotFoundException e) {
+            // Only this: storage failures must not pass for a missing task
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Lists the attachments of a task.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @return A response entity containing the attachments' metadata, or not found.
+     */
+    @Operation(summary = "List attachments", description = "Retrieves the metadata of every file attached to the task.")
+    @ApiResponse(
+            responseCode = "200",
+            description = "Attachments retrieved successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = AttachmentDto[].class),
+                    examples = @ExampleObject(
+                            value = "[{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f6\", \"filename\": \"screenshot.png\", \"contentType\": \"image/png\", \"length\": 48213, \"uploadDate\": \"2024-01-10T09:31:12\", \"uploaderId\": \"user-1\"}]"
+                    )
+            )
+    )
+    @GetMapping
+    public ResponseEntity<?> getAttachments(@PathVariable String projectId, @PathVariable String taskId) {
+        try {
+            return ResponseEntity.ok(taskAttachmentService.getAttachments(projectId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Downloads an attachment, or the byte range asked for in the Range header.
+     *
+     * @param projectId    The ID of the project.
+     * @param taskId       The ID of the task.
+     * @param attachmentId The ID of the attachment.
+     * @param headers      The request headers, for Range.
+     * @return A response entity streaming the content.
+     */
+    @Operation(
+            summary = "Download an attachment",
+            description = "Streams the file. A single-range Range header (e.g. bytes=1048576-) returns 206 with just that range, so downloads can resume " +
+                    "and media can seek; multiple ranges are answered with the whole file."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "The whole file"),
+            @ApiResponse(responseCode = "206", description = "The requested range"),
+            @ApiResponse(responseCode = "404", description = "Task or attachment not found"),
+            @ApiResponse(responseCode = "416", description = "The range starts beyond the end of the file")
+    })
+    @GetMapping("/{attachmentId}")
+    public ResponseEntity<?> downloadAttachment(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @PathVariable String attachmentId,
+            @RequestHeader HttpHeaders headers) {
+        GridFSFile file;
+        try {
+            file = taskAttachmentService.getAttachmentFile(projectId, taskId, attachmentId);
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+
+        long length = file.getLength();
+        long start = 0;
+        long end = length - 1;
+        HttpStatus status = HttpStatus.OK;
+        List<HttpRange> ranges;
+        try {
+            ranges = headers.getRange();
+        } catch (IllegalArgumentException e) {
+            ranges = List.of(); // malformed: ignored, as RFC 9110 allows
+        }
+        if (ranges.size() == 1) {
+            start = ranges.get(0).getRangeStart(length);
+            end = ranges.get(0).getRangeEnd(length);
+            if (start >= length || start > end) {
+                return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+                        .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+                        .build();
+            }
+            status = HttpStatus.PARTIAL_CONTENT;
+        }
+
+        String contentType = file.getMetadata() == null ? null : file.getMetadata().getString("_contentType");
+        HttpHeaders responseHeaders = new HttpHeaders();
+        responseHeaders.setContentType(contentType == null ? MediaType.APPLICATION_OCTET_STREAM : MediaType.parseMediaType(contentType));
+        responseHeaders.setContentLength(end - start + 1);
+        responseHeaders.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        responseHeaders.setContentDisposition(ContentDisposition.attachment().filename(file.getFilename(), StandardCharsets.UTF_8).build());
+        if (status == HttpStatus.PARTIAL_CONTENT) {
+            responseHeaders.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        long from = start;
+        long to = end;
+        StreamingResponseBody body = out -> {
+            try (InputStream in = taskAttachmentService.openStream(file)) {
+                // Skipping seeks to the chunk holding the start; earlier chunks are never fetched
+                StreamUtils.copyRange(in, out, from, to);
+            }
+        };
+        return new ResponseEntity<>(body, responseHeaders, status);
+    }
+
+    /**
+     * Deletes an attachment.
+     *
+     * @param projectId    The ID of the project.
+     * @param taskId       The ID of the task.
+     * @param attachmentId The ID of the attachment.
+     * @return A response entity with no content, or not found.
+     */
+    @Operation(summary = "Delete an attachment", description = "Removes the file from the task and deletes it.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Attachment deleted successfully"),
+            @ApiResponse(responseCode = "404", description = "Task or attachment not found")
+    })
+    @DeleteMapping("/{attachmentId}")
+    public ResponseEntity<Void> deleteAttachment(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @PathVariable String attachmentId) {
+        try {
+            taskAttachmentService.deleteAttachment(projectId, taskId, attachmentId);
+            return ResponseEntity.noContent().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
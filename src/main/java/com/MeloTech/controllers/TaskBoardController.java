@@ -0,0 +1,124 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.dtos.BoardColumnDto;
+import com.MeloTech.services.TaskBoardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for a project's Kanban board.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/board")
+@Tag(name = "Board", description = "APIs for rendering a project's tasks as a Kanban board")
+public class TaskBoardController {
+    private final TaskBoardService taskBoardService;
+
+    @Autowired
+    public TaskBoardController(TaskBoardService taskBoardService) {
+        this.taskBoardService = taskBoardService;
+    }
+
+    /**
+     * Gets the board of a project.
+     *
+     * @param projectId The ID of the project.
+     * @param size      The number of tasks per column.
+     * @return A response entity containing the board's columns or an error message.
+     */
+    @Operation(
+            summary = "Get the board",
+            description = "Retrieves one column per status of the project, each with its first tasks in rank order and the total number of tasks in it. " +
+                    "When a column has more tasks, nextCursor is set; pass it to the column endpoint to load more."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Board retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BoardColumnDto[].class),
+                            examples = @ExampleObject(
+                                    value = "[{\"status\": {\"id\": \"status-123\", \"name\": \"To Do\", \"color\": \"#FFA500\", \"projectId\": \"project-123\"}, \"count\": 42, \"tasks\": [{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f6\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"rank\": \"i\", \"projectId\": \"project-123\"}], \"nextCursor\": \"i:65a1f0c2e4b0a1b2c3d4e5f6\"}]"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid column size",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "size must be between 1 and 100")
+                    )
+            )
+    })
+    @GetMapping("")
+    public ResponseEntity<?> getBoard(
+            @PathVariable String projectId,
+            @Parameter(description = "Number of tasks per column")
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(taskBoardService.getBoard(projectId, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Loads more tasks of one board column.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     * @param after     The nextCursor of the previous page.
+     * @param size      The number of tasks to return.
+     * @return A response entity containing the next tasks of the column or an error message.
+     */
+    @Operation(
+            summary = "Load more tasks of a column",
+            description = "Retrieves the tasks of the column following the given cursor. nextCursor is set while more tasks follow."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = BoardColumnDto.class),
+                            examples = @ExampleObject(
+                                    value = "{\"tasks\": [{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f7\", \"title\": \"Write docs\", \"statusId\": \"status-123\", \"rank\": \"i01\", \"projectId\": \"project-123\"}], \"nextCursor\": \"i01:65a1f0c2e4b0a1b2c3d4e5f7\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Unknown status, invalid cursor or size",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Invalid cursor")
+                    )
+            )
+    })
+    @GetMapping("/columns/{statusId}")
+    public ResponseEntity<?> getColumnPage(
+            @PathVariable String projectId,
+            @PathVariable String statusId,
+            @Parameter(description = "The nextCursor of the previous page")
+            @RequestParam String after,
+            @Parameter(description = "Number of tasks to return")
+            @RequestParam(defaultValue = "20") int size) {
+        try {
+            return ResponseEntity.ok(taskBoardService.getColumnPage(projectId, statusId, after, size));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
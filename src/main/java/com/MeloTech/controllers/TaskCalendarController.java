@@ -0,0 +1,159 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.services.TaskCalendarService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Controller for calendar and Gantt queries over the tasks of a project.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks")
+@Tag(name = "Task Calendar", description = "APIs for querying tasks by start, end and due dates")
+public class TaskCalendarController {
+    private final TaskCalendarService taskCalendarService;
+
+    @Autowired
+    public TaskCalendarController(TaskCalendarService taskCalendarService) {
+        this.taskCalendarService = taskCalendarService;
+    }
+
+    /**
+     * Gets the tasks of a project shown in a calendar window.
+     *
+     * @param projectId The ID of the project.
+     * @param from      The start of the window.
+     * @param to        The end of the window.
+     * @return A response entity containing the tasks in the window or an error message.
+     */
+    @Operation(
+            summary = "Get tasks in a date range",
+            description = "Retrieves the tasks whose [startDate, endDate] span overlaps [from, to], or whose dueDate falls within it. " +
+                    "Tasks missing either startDate or endDate have no span and only appear through their dueDate."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task[].class),
+                            examples = @ExampleObject(
+                                    value = "[{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"startDate\": \"2023-10-01T00:00:00\", \"endDate\": \"2023-10-15T00:00:00\", \"dueDate\": \"2023-10-15T00:00:00\", \"projectId\": \"project-123\"}]"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid range",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "from must not be after to")
+                    )
+            )
+    })
+    @GetMapping("/calendar")
+    public ResponseEntity<?> getTasksInRange(
+            @PathVariable String projectId,
+            @Parameter(description = "Start of the window, ISO date-time")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End of the window, ISO date-time")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            return ResponseEntity.ok(taskCalendarService.getTasksInRange(projectId, from, to));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the open tasks of a project that are past their due date.
+     *
+     * @param projectId        The ID of the project.
+     * @param excludeStatusIds (Optional) Statuses that count as done.
+     * @return A response entity containing the overdue tasks.
+     */
+    @Operation(
+            summary = "Get overdue tasks",
+            description = "Retrieves the tasks due before now that have no endDate, most overdue first. " +
+                    "Tasks in any of excludeStatusIds (comma-separated, e.g. the Done status) are left out."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Tasks retrieved successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = Task[].class),
+                    examples = @ExampleObject(
+                            value = "[{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"dueDate\": \"2023-10-15T00:00:00\", \"projectId\": \"project-123\"}]"
+                    )
+            )
+    )
+    @GetMapping("/overdue")
+    public ResponseEntity<?> getOverdueTasks(
+            @PathVariable String projectId,
+            @RequestParam(required = false) Set<String> excludeStatusIds) {
+        return ResponseEntity.ok(taskCalendarService.getOverdueTasks(projectId, excludeStatusIds));
+    }
+
+    /**
+     * Gets the open tasks of a project due within the next days.
+     *
+     * @param projectId        The ID of the project.
+     * @param days             The number of days to look ahead.
+     * @param excludeStatusIds (Optional) Statuses that count as done.
+     * @return A response entity containing the tasks due soon or an error message.
+     */
+    @Operation(
+            summary = "Get tasks due soon",
+            description = "Retrieves the tasks due between now and the given number of days from now that have no endDate, soonest first. " +
+                    "Tasks in any of excludeStatusIds (comma-separated, e.g. the Done status) are left out."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task[].class),
+                            examples = @ExampleObject(
+                                    value = "[{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"dueDate\": \"2023-10-15T00:00:00\", \"projectId\": \"project-123\"}]"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid number of days",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "days must be between 1 and 90")
+                    )
+            )
+    })
+    @GetMapping("/due-soon")
+    public ResponseEntity<?> getTasksDueSoon(
+            @PathVariable String projectId,
+            @Parameter(description = "Number of days to look ahead")
+            @RequestParam(defaultValue = "7") int days,
+            @RequestParam(required = false) Set<String> excludeStatusIds) {
+        try {
+            return ResponseEntity.ok(taskCalendarService.getTasksDueSoon(projectId, days, excludeStatusIds));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
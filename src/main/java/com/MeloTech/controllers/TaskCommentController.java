@@ -0,0 +1,131 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.dtos.CommentPageDto;
+import com.MeloTech.entities.TaskComment;
+import com.MeloTech.services.TaskCommentService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the comments on a task.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks/{taskId}/comments")
+@Tag(name = "Task Comments", description = "APIs for commenting on tasks")
+public class TaskCommentController {
+    private final TaskCommentService taskCommentService;
+
+    @Autowired
+    public TaskCommentController(TaskCommentService taskCommentService) {
+        this.taskCommentService = taskCommentService;
+    }
+
+    /**
+     * Adds a comment to a task.
+     *
+     * @param userId    The ID of the commenting user.
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param comment   The comment; only its body is used.
+     * @return A response entity containing the created comment or an error message.
+     */
+    @Operation(
+            summary = "Add a comment",
+            description = "Adds a comment by the user to the task.",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "The comment text",
+                    required = true,
+                    content = @Content(
+                            mediaType = "application/json",
+                            examples = @ExampleObject(value = "{\"body\": \"Reproduced on staging, fix incoming.\"}")
+                    )
+            )
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Comment added successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = TaskComment.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f6\", \"authorId\": \"user-1\", \"body\": \"Reproduced on staging, fix incoming.\", \"createdAt\": \"2024-01-10T09:31:12\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Empty or too long comment",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Comment shouldn't be empty")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Task not found")
+                    )
+            )
+    })
+    @PostMapping
+    public ResponseEntity<?> addComment(
+            @PathVariable String userId,
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @RequestBody TaskComment comment) {
+        try {
+            return ResponseEntity.ok(taskCommentService.addComment(projectId, taskId, userId, comment.getBody()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(503).body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Gets a page of a task's comments.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param before    (Optional) The nextCursor of the previous page.
+     * @return A response entity containing the comments, newest first.
+     */
+    @Operation(
+            summary = "Get comments",
+            description = "Retrieves the task's comments newest first, up to 50 per page. " +
+                    "When older comments exist, nextCursor is set; pass it as before to get them."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Comments retrieved successfully",
+            content = @Content(
+                    mediaType = "application/json",
+                    schema = @Schema(implementation = CommentPageDto.class),
+                    examples = @ExampleObject(
+                            value = "{\"comments\": [{\"id\": \"65a1f0c2e4b0a1b2c3d4e5f6\", \"authorId\": \"user-1\", \"body\": \"Reproduced on staging, fix incoming.\", \"createdAt\": \"2024-01-10T09:31:12\"}], \"nextCursor\": 3}"
+                    )
+            )
+    )
+    @GetMapping
+    public ResponseEntity<CommentPageDto> getComments(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @Parameter(description = "The nextCursor of the previous page")
+            @RequestParam(required = false) Integer before) {
+        return ResponseEntity.ok(taskCommentService.getComments(projectId, taskId, before));
+    }
+}
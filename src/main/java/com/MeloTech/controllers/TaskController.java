@@ -1,6 +1,11 @@
 package com.MeloTech.controllers;
 
+import com.MeloTech.caches.TaskFilterIndex;
+import com.MeloTech.dtos.TaskListDto;
+import com.MeloTech.dtos.TaskSyncDto;
 import com.MeloTech.entities.Task;
+import com.MeloTech.services.TaskExpansionService;
+import com.MeloTech.services.TaskQueryService;
 import com.MeloTech.services.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -10,10 +15,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Controller for managing tasks within a project.
@@ -23,10 +32,14 @@ import java.util.List;
 @Tag(name = "Task Management", description = "APIs for managing tasks within a project")
 public class TaskController {
     private final TaskService taskService;
+    private final TaskExpansionService taskExpansionService;
+    private final TaskQueryService taskQueryService;
 
     @Autowired
-    public TaskController(TaskService taskService) {
+    public TaskController(TaskService taskService, TaskExpansionService taskExpansionService, TaskQueryService taskQueryService) {
         this.taskService = taskService;
+        this.taskExpansionService = taskExpansionService;
+        this.taskQueryService = taskQueryService;
     }
 
     /**
@@ -85,33 +98,113 @@ public class TaskController {
     /**
      * Gets all tasks in a project, optionally filtered by status or label.
      *
+     * @param userId    The ID of the caller, used for "me" in filter expressions.
      * @param projectId The ID of the project.
      * @param statusId  (Optional) The ID of the status to filter by.
      * @param labelId   (Optional) The ID of the label to filter by.
-     * @return A response entity containing the list of tasks.
+     * @param filter    (Optional) Multi-value filters: statusIds, labelIds, labelMatch, assigneeIds and their exclude* variants.
+     * @param query     (Optional) A filter expression such as statusId:in:A|B;dueDate:lt:now+7d.
+     * @param sort      (Optional) The field to sort by, descending when prefixed with -.
+     * @param expand    (Optional) The references to include with the tasks: status, labels and/or assignees.
+     * @return A response entity containing the list of tasks, wrapped with their references when expanded.
      */
     @Operation(
             summary = "Get all tasks in a project",
-            description = "Retrieves all tasks in the specified project, optionally filtered by status or label."
+            description = "Retrieves all tasks in the specified project, optionally filtered by status or label. " +
+                    "statusIds, labelIds and assigneeIds (comma-separated) keep tasks matching any of the given values, or all labels with labelMatch=all; " +
+                    "excludeStatusIds, excludeLabelIds and excludeAssigneeIds drop tasks matching any of them. These filters combine freely and run on an in-memory index. " +
+                    "Alternatively, filter takes field:operator:value clauses joined by ';' (values separated by '|'), e.g. statusId:in:A|B;labelIds:in:X|Y;assigneeIds:eq:me;dueDate:lt:now+7d, " +
+                    "over statusId, labelIds, assigneeIds, title, dueDate and lastUpdateTime; sort takes one of title, dueDate or lastUpdateTime, prefixed with - for descending. " +
+                    "With expand=status,labels,assignees the response becomes an object holding the tasks and, keyed by ID, each status, label and assignee they reference."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "List of tasks retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task[].class),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Tasks",
+                                            value = "[{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"description\": \"Fix the critical bug in the login module\", \"statusId\": \"status-123\", \"labelIds\": [\"label-456\"], \"dependencyIds\": [\"task-789\"], \"dueDate\": \"2023-12-31\", \"startDate\": \"2023-10-01\", \"endDate\": \"2023-10-15\", \"estimatedHours\": 10, \"actualHours\": 5, \"projectId\": \"project-123\"}]"
+                                    ),
+                                    @ExampleObject(
+                                            name = "Expanded",
+                                            value = "{\"tasks\": [{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"labelIds\": [\"label-456\"], \"assigneeIds\": [\"user-1\"], \"projectId\": \"project-123\"}], \"statuses\": {\"status-123\": {\"id\": \"status-123\", \"name\": \"In Progress\", \"color\": \"#FFA500\", \"projectId\": \"project-123\"}}, \"labels\": {\"label-456\": {\"id\": \"label-456\", \"name\": \"Bug\", \"color\": \"#FF0000\", \"projectId\": \"project-123\"}}, \"assignees\": {\"user-1\": {\"id\": \"user-1\", \"firstName\": \"Jane\", \"lastName\": \"Doe\", \"username\": \"jane\", \"email\": \"jane@example.com\"}}}"
+                                    )
+                            }
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid filter, sort or expand value",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Sorting by estimatedHours is not supported")
+                    )
+            )
+    })
+    @GetMapping("")
+    public ResponseEntity<?> getAllTasksInProject(
+            @PathVariable String userId,
+            @PathVariable String projectId,
+            @RequestParam(required = false) String statusId,
+            @RequestParam(required = false) String labelId,
+            @ModelAttribute TaskFilterParams filter,
+            @RequestParam(name = "filter", required = false) String query,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) Set<String> expand) {
+        try {
+            List<Task> tasks;
+            if (query != null || sort != null) {
+                if (statusId != null || labelId != null || !filter.isEmpty()) {
+                    throw new IllegalArgumentException("filter and sort can't be combined with the other filter parameters");
+                }
+                tasks = taskQueryService.findTasks(projectId, userId, query, sort);
+            } else if (!filter.isEmpty()) {
+                tasks = taskService.getTasksMatching(projectId, filter.toFilter(statusId, labelId));
+            } else {
+                tasks = taskService.getFilteredTasks(projectId, statusId, labelId);
+            }
+            if (expand == null || expand.isEmpty()) {
+                return ResponseEntity.ok(tasks);
+            }
+            TaskListDto expanded = taskExpansionService.expand(tasks, expand);
+            return ResponseEntity.ok(expanded);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * Gets the tasks changed and deleted in a project since the client's last sync.
+     *
+     * @param projectId The ID of the project.
+     * @param since     (Optional) The watermark returned by the previous sync; omit for an initial sync.
+     * @return A response entity containing the changed tasks, deleted task IDs and the next watermark.
+     */
+    @Operation(
+            summary = "Incrementally sync tasks in a project",
+            description = "Returns the tasks modified and the IDs of tasks deleted since the given watermark, plus the watermark to send next time. " +
+                    "When since is omitted or older than the tombstone retention, all tasks are returned and fullResyncRequired is true."
     )
     @ApiResponse(
             responseCode = "200",
-            description = "List of tasks retrieved successfully",
+            description = "Changes retrieved successfully",
             content = @Content(
                     mediaType = "application/json",
-                    schema = @Schema(implementation = Task[].class),
+                    schema = @Schema(implementation = TaskSyncDto.class),
                     examples = @ExampleObject(
-                            value = "[{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"description\": \"Fix the critical bug in the login module\", \"statusId\": \"status-123\", \"labelIds\": [\"label-456\"], \"dependencyIds\": [\"task-789\"], \"dueDate\": \"2023-12-31\", \"startDate\": \"2023-10-01\", \"endDate\": \"2023-10-15\", \"estimatedHours\": 10, \"actualHours\": 5, \"projectId\": \"project-123\"}]"
+                            value = "{\"changed\": [{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-123\", \"projectId\": \"project-123\", \"lastUpdateTime\": \"2024-01-10T09:30:00\"}], \"deletedIds\": [\"task-456\"], \"watermark\": \"2024-01-10T09:31:12.345\", \"fullResyncRequired\": false}"
                     )
             )
     )
-    @GetMapping("")
-    public ResponseEntity<?> getAllTasksInProject(
+    @GetMapping("/sync")
+    public ResponseEntity<?> syncTasks(
             @PathVariable String projectId,
-            @RequestParam(required = false) String statusId,
-            @RequestParam(required = false) String labelId) {
-        List<Task> tasks = taskService.getFilteredTasks(projectId, statusId, labelId);
-        return ResponseEntity.ok(tasks);
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since) {
+        return ResponseEntity.ok(taskService.syncTasks(projectId, since));
     }
 
     /**
@@ -262,6 +355,66 @@ public class TaskController {
         }
     }
 
+    /**
+     * Moves a task on the board.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param statusId  (Optional) The ID of the target status.
+     * @param afterId   (Optional) The ID of the task to place it below.
+     * @param beforeId  (Optional) The ID of the task to place it above.
+     * @return A response entity containing the moved task or an error message.
+     */
+    @Operation(
+            summary = "Move a task on the board",
+            description = "Moves a task to another status column and/or next to another card: below afterId or above beforeId, " +
+                    "or to the bottom of the column when neither is given. Only the moved task is updated; it gets a new rank between its neighbours."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Task moved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-456\", \"rank\": \"i0i\", \"projectId\": \"project-123\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid status or neighbouring task",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Neighbouring task not found in the target status")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Task not found")
+                    )
+            )
+    })
+    @PatchMapping("/{taskId}/move")
+    public ResponseEntity<?> moveTask(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @RequestParam(required = false) String statusId,
+            @RequestParam(required = false) String afterId,
+            @RequestParam(required = false) String beforeId) {
+        try {
+            return ResponseEntity.ok(taskService.moveTask(projectId, taskId, statusId, afterId, beforeId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Adds a label to a task.
      *
@@ -611,4 +764,30 @@ public class TaskController {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    /**
+     * Multi-value filter parameters of the task list.
+     */
+    public record TaskFilterParams(Set<String> statusIds, Set<String> labelIds, String labelMatch, Set<String> assigneeIds,
+                                   Set<String> excludeStatusIds, Set<String> excludeLabelIds, Set<String> excludeAssigneeIds) {
+        boolean isEmpty() {
+            return statusIds == null && labelIds == null && assigneeIds == null
+                    && excludeStatusIds == null && excludeLabelIds == null && excludeAssigneeIds == null;
+        }
+
+        // The single statusId and labelId parameters join their multi-value counterparts
+        TaskFilterIndex.Filter toFilter(String statusId, String labelId) {
+            return new TaskFilterIndex.Filter(withOptional(statusIds, statusId), withOptional(labelIds, labelId),
+                    "all".equalsIgnoreCase(labelMatch), withOptional(assigneeIds, null),
+                    withOptional(excludeStatusIds, null), withOptional(excludeLabelIds, null), withOptional(excludeAssigneeIds, null));
+        }
+
+        private static Set<String> withOptional(Set<String> values, String value) {
+            Set<String> result = values == null ? new HashSet<>() : new HashSet<>(values);
+            if (value != null) {
+                result.add(value);
+            }
+            return result;
+        }
+    }
 }
@@ -0,0 +1,57 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.events.TaskEventBroadcaster;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Controller streaming task changes of a project as Server-Sent Events.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks/events")
+@Tag(name = "Task Management", description = "APIs for managing tasks within a project")
+public class TaskEventController {
+    private final TaskEventBroadcaster taskEventBroadcaster;
+
+    public TaskEventController(TaskEventBroadcaster taskEventBroadcaster) {
+        this.taskEventBroadcaster = taskEventBroadcaster;
+    }
+
+    /**
+     * Subscribes to the task changes of a project.
+     *
+     * @param projectId   The ID of the project.
+     * @param lastEventId (Optional) The id of the last received event, sent automatically by EventSource on reconnect.
+     * @return An emitter streaming CREATED, UPDATED and DELETED events.
+     */
+    @Operation(
+            summary = "Stream task changes",
+            description = "Opens a Server-Sent Events stream of task changes in the specified project. " +
+                    "Each event is named CREATED, UPDATED or DELETED and carries the task id and the task after the change. " +
+                    "On reconnect, events after Last-Event-ID are replayed; a RESET event means they are no longer available and the board must be reloaded."
+    )
+    @ApiResponse(
+            responseCode = "200",
+            description = "Event stream opened",
+            content = @Content(
+                    mediaType = "text/event-stream",
+                    examples = @ExampleObject(
+                            value = "id:lz3k1q-42\nevent:UPDATED\ndata:{\"type\": \"UPDATED\", \"taskId\": \"task-123\", \"task\": {\"id\": \"task-123\", \"title\": \"Fix Bug\", \"statusId\": \"status-456\", \"projectId\": \"project-123\"}}\n\n"
+                    )
+            )
+    )
+    @GetMapping(value = "", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamTaskEvents(
+            @PathVariable String projectId,
+            @Parameter(description = "Id of the last event received, for resuming")
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return taskEventBroadcaster.subscribe(projectId, lastEventId);
+    }
+}
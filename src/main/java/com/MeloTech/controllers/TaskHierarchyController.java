@@ -0,0 +1,128 @@
+package com.MeloTech.controllers;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.services.TaskHierarchyService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the subtask hierarchy of a project's tasks.
+ */
+@RestController
+@RequestMapping("api/users/{userId}/projects/{projectId}/tasks")
+@Tag(name = "Subtasks", description = "APIs for epics, stories and subtasks")
+public class TaskHierarchyController {
+    private final TaskHierarchyService taskHierarchyService;
+
+    @Autowired
+    public TaskHierarchyController(TaskHierarchyService taskHierarchyService) {
+        this.taskHierarchyService = taskHierarchyService;
+    }
+
+    /**
+     * Gets a task with all its subtasks.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @return A response entity containing the subtree, or not found.
+     */
+    @Operation(
+            summary = "Get a task's subtree",
+            description = "Retrieves the task followed by all its subtasks at any depth; parentId links them into a tree. " +
+                    "subtreeEstimatedHours and subtreeActualHours on each task hold the hours summed over its subtasks."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Subtree retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task[].class),
+                            examples = @ExampleObject(
+                                    value = "[{\"id\": \"task-1\", \"title\": \"Checkout epic\", \"ancestorIds\": [], \"estimatedHours\": 4, \"subtreeEstimatedHours\": 10, \"subtreeActualHours\": 3, \"projectId\": \"project-123\"}, " +
+                                            "{\"id\": \"task-2\", \"title\": \"Payment story\", \"parentId\": \"task-1\", \"ancestorIds\": [\"task-1\"], \"estimatedHours\": 10, \"actualHours\": 3, \"subtreeEstimatedHours\": 0, \"subtreeActualHours\": 0, \"projectId\": \"project-123\"}]"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Task not found")
+                    )
+            )
+    })
+    @GetMapping("/{taskId}/subtree")
+    public ResponseEntity<?> getSubtree(@PathVariable String projectId, @PathVariable String taskId) {
+        try {
+            return ResponseEntity.ok(taskHierarchyService.getSubtree(projectId, taskId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Moves a task and its subtasks under another parent.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param parentId  (Optional) The ID of the new parent; omit to make the task top-level.
+     * @return A response entity containing the moved task or an error message.
+     */
+    @Operation(
+            summary = "Change a task's parent",
+            description = "Moves the task, with all its subtasks, under the given parent task, or to the top level when parentId is omitted. " +
+                    "The parent can't be the task itself or one of its subtasks."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Task moved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = Task.class),
+                            examples = @ExampleObject(
+                                    value = "{\"id\": \"task-2\", \"title\": \"Payment story\", \"parentId\": \"task-5\", \"ancestorIds\": [\"task-4\", \"task-5\"], \"projectId\": \"project-123\"}"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid parent",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "A task can't be moved under itself or one of its subtasks")
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Task not found",
+                    content = @Content(
+                            mediaType = "text/plain",
+                            examples = @ExampleObject(value = "Task not found")
+                    )
+            )
+    })
+    @PatchMapping("/{taskId}/update-parent")
+    public ResponseEntity<?> updateParent(
+            @PathVariable String projectId,
+            @PathVariable String taskId,
+            @RequestParam(required = false) String parentId) {
+        try {
+            return ResponseEntity.ok(taskHierarchyService.move(projectId, taskId, parentId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
@@ -5,8 +5,11 @@ import com.MeloTech.dtos.UserDto;
 import com.MeloTech.dtos.UpdateUserDto;
 import com.MeloTech.entities.User;
 import com.MeloTech.services.UserService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.headers.Header;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -17,26 +20,42 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("api/users")
 @Tag(name = "Users", description = "APIs for managing users")
 @Validated
 public class UserController {
-    
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final UserService userService;
+    private final ObjectMapper objectMapper;
+    private final CacheControl batchCacheControl;
 
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, ObjectMapper objectMapper,
+                          @Value("${users.batch.max-age:60s}") Duration batchMaxAge) {
         this.userService = userService;
+        this.objectMapper = objectMapper;
+        // Private: responses depend on the caller being authenticated and must not land in shared caches
+        this.batchCacheControl = CacheControl.maxAge(batchMaxAge).cachePrivate();
     }
 
     @GetMapping("")
@@ -69,6 +88,87 @@ public class UserController {
         return ResponseEntity.ok(userPage);
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(
+        summary = "Export all users",
+        description = "Streams the whole user directory as newline-delimited JSON, one user per line. " +
+                     "Users are read from a database cursor and written as they arrive, so the export " +
+                     "runs in constant memory regardless of the number of users."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "User directory streamed",
+            content = @Content(
+                mediaType = "application/x-ndjson",
+                schema = @Schema(implementation = UserDto.class),
+                examples = @ExampleObject(value = """
+                    {"id":"123","firstName":"John","lastName":"Doe","username":"johndoe","email":"john@example.com"}
+                    {"id":"456","firstName":"Jane","lastName":"Doe","username":"janedoe","email":"jane@example.com"}
+                    """)
+            )
+        )
+    })
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        StreamingResponseBody body = outputStream -> {
+            try (Stream<UserDto> users = this.userService.streamAllUsers();
+                 SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+                for (UserDto user : (Iterable<UserDto>) users::iterator) {
+                    writer.write(user);
+                }
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/batch")
+    @Operation(
+        summary = "Get several users by ID",
+        description = "Retrieve up to users.batch.max-ids (default 100) users in one request, e.g. the assignees of a board. " +
+                     "Users come back in the order of their IDs and unknown IDs are skipped. " +
+                     "Responses carry an ETag and may be cached privately for a short time; send If-None-Match to get a 304 when nothing changed."
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "Users retrieved",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = UserDto.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "304",
+            description = "The users did not change since the ETag sent in If-None-Match"
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "No IDs or too many IDs",
+            content = @Content(
+                mediaType = "text/plain",
+                examples = @ExampleObject(value = "At most 100 user IDs can be requested at once")
+            )
+        )
+    })
+    public ResponseEntity<?> getUsersByIds(
+            @Parameter(description = "Comma-separated IDs of the users to retrieve", required = true)
+            @RequestParam List<String> ids) throws IOException {
+        List<UserDto> users;
+        try {
+            users = this.userService.getUsersByIds(ids);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+        // Spring answers 304 itself when the request's If-None-Match matches this ETag
+        String eTag = "\"" + DigestUtils.md5DigestAsHex(objectMapper.writeValueAsBytes(users)) + "\"";
+        return ResponseEntity.ok()
+                .cacheControl(batchCacheControl)
+                .eTag(eTag)
+                .body(users);
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a user via userId", description = "Retrieve a specific user by their ID")
     @ApiResponses({
@@ -98,12 +198,15 @@ public class UserController {
     @GetMapping("/search")
     @Operation(
         summary = "User Search by prefix-matching",
-        description = "Search for users whose username starts with the given prefix"
+        description = "Search for users whose username starts with the given prefix (case-insensitive). " +
+                     "Results are ordered by username and paged with a cursor: when more users match, " +
+                     "the X-Next-Cursor response header holds the cursor for the next page."
     )
     @ApiResponses({
         @ApiResponse(
             responseCode = "200",
             description = "Successfully retrieved users",
+            headers = @Header(name = "X-Next-Cursor", description = "Cursor of the next page, absent on the last page"),
             content = @Content(
                 mediaType = "application/json",
                 array = @ArraySchema(schema = @Schema(implementation = UserDto.class))
@@ -120,8 +223,19 @@ public class UserController {
     })
     public ResponseEntity<ArrayList<UserDto>> searchWithPrefix(
             @Parameter(description = "Username prefix to search for", required = true)
-            @RequestParam String prefix) {
-        return ResponseEntity.ok(this.userService.searchUsersWithPrefix(prefix));
+            @RequestParam String prefix,
+            @Parameter(description = "Maximum number of users to return, capped by the server")
+            @RequestParam(defaultValue = "20") @Min(1) Integer limit,
+            @Parameter(description = "Value of the X-Next-Cursor header from the previous page")
+            @RequestParam(required = false) String cursor) {
+        ArrayList<UserDto> users = this.userService.searchUsersWithPrefix(prefix, limit, cursor);
+        String nextCursor = this.userService.nextSearchCursor(users, limit);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(users);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,72 @@
+package com.MeloTech.dtos;
+
+import java.time.LocalDateTime;
+
+/**
+ * Metadata of a file attached to a task; the content is downloaded separately.
+ */
+public class AttachmentDto {
+    private String id;
+    private String filename;
+    private String contentType;
+    private long length;
+    private LocalDateTime uploadDate;
+    private String uploaderId;
+
+    public AttachmentDto(String id, String filename, String contentType, long length, LocalDateTime uploadDate, String uploaderId) {
+        this.id = id;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.length = length;
+        this.uploadDate = uploadDate;
+        this.uploaderId = uploaderId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public long getLength() {
+        return length;
+    }
+
+    public void setLength(long length) {
+        this.length = length;
+    }
+
+    public LocalDateTime getUploadDate() {
+        return uploadDate;
+    }
+
+    public void setUploadDate(LocalDateTime uploadDate) {
+        this.uploadDate = uploadDate;
+    }
+
+    public String getUploaderId() {
+        return uploaderId;
+    }
+
+    public void setUploaderId(String uploaderId) {
+        this.uploaderId = uploaderId;
+    }
+}
@@ -0,0 +1,58 @@
+package com.MeloTech.dtos;
+
+import com.MeloTech.entities.Status;
+import com.MeloTech.entities.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+/**
+ * One column of a project's board: a status with a page of its tasks.
+ * The status and total count are left out of the JSON for "load more" pages.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardColumnDto {
+    private Status status;
+    private Long count;
+    private List<Task> tasks;
+    private String nextCursor;
+
+    public BoardColumnDto(Status status, Long count, List<Task> tasks, String nextCursor) {
+        this.status = status;
+        this.count = count;
+        this.tasks = tasks;
+        this.nextCursor = nextCursor;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getCount() {
+        return count;
+    }
+
+    public void setCount(Long count) {
+        this.count = count;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,87 @@
+package com.MeloTech.dtos;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of removing references to a deleted status or label from a project's tasks.
+ */
+public class CleanupJobDto {
+    public enum State {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    private final String id;
+    private final String projectId;
+    private final String referenceType;
+    private final String referenceId;
+    private final long total;
+    private final AtomicLong processed = new AtomicLong();
+    private final LocalDateTime startedAt = LocalDateTime.now();
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    public CleanupJobDto(String id, String projectId, String referenceType, String referenceId, long total) {
+        this.id = id;
+        this.projectId = projectId;
+        this.referenceType = referenceType;
+        this.referenceId = referenceId;
+        this.total = total;
+    }
+
+    public void addProcessed(long count) {
+        processed.addAndGet(count);
+    }
+
+    public void complete() {
+        finishedAt = LocalDateTime.now();
+        state = State.COMPLETED;
+    }
+
+    public void fail(String error) {
+        this.error = error;
+        finishedAt = LocalDateTime.now();
+        state = State.FAILED;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public String getReferenceType() {
+        return referenceType;
+    }
+
+    public String getReferenceId() {
+        return referenceId;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public long getProcessed() {
+        return processed.get();
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
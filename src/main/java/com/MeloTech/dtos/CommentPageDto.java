@@ -0,0 +1,34 @@
+package com.MeloTech.dtos;
+
+import com.MeloTech.entities.TaskComment;
+
+import java.util.List;
+
+/**
+ * A page of a task's comments, newest first.
+ */
+public class CommentPageDto {
+    private List<TaskComment> comments;
+    private Integer nextCursor;
+
+    public CommentPageDto(List<TaskComment> comments, Integer nextCursor) {
+        this.comments = comments;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<TaskComment> getComments() {
+        return comments;
+    }
+
+    public void setComments(List<TaskComment> comments) {
+        this.comments = comments;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,60 @@
+package com.MeloTech.dtos;
+
+import com.MeloTech.entities.Label;
+import com.MeloTech.entities.Status;
+import com.MeloTech.entities.Task;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A task list with the statuses, labels and assignees it references, each included once and keyed by ID.
+ * Reference types that were not requested are left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TaskListDto {
+    private List<Task> tasks;
+    private Map<String, Status> statuses;
+    private Map<String, Label> labels;
+    private Map<String, UserDto> assignees;
+
+    public TaskListDto(List<Task> tasks, Map<String, Status> statuses, Map<String, Label> labels, Map<String, UserDto> assignees) {
+        this.tasks = tasks;
+        this.statuses = statuses;
+        this.labels = labels;
+        this.assignees = assignees;
+    }
+
+    public List<Task> getTasks() {
+        return tasks;
+    }
+
+    public void setTasks(List<Task> tasks) {
+        this.tasks = tasks;
+    }
+
+    public Map<String, Status> getStatuses() {
+        return statuses;
+    }
+
+    public void setStatuses(Map<String, Status> statuses) {
+        this.statuses = statuses;
+    }
+
+    public Map<String, Label> getLabels() {
+        return labels;
+    }
+
+    public void setLabels(Map<String, Label> labels) {
+        this.labels = labels;
+    }
+
+    public Map<String, UserDto> getAssignees() {
+        return assignees;
+    }
+
+    public void setAssignees(Map<String, UserDto> assignees) {
+        this.assignees = assignees;
+    }
+}
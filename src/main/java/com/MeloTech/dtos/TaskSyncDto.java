@@ -0,0 +1,55 @@
+package com.MeloTech.dtos;
+
+import com.MeloTech.entities.Task;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Changes to a project's tasks since a client's last sync.
+ */
+public class TaskSyncDto {
+    private List<Task> changed;
+    private List<String> deletedIds;
+    private LocalDateTime watermark;
+    private boolean fullResyncRequired;
+
+    public TaskSyncDto(List<Task> changed, List<String> deletedIds, LocalDateTime watermark, boolean fullResyncRequired) {
+        this.changed = changed;
+        this.deletedIds = deletedIds;
+        this.watermark = watermark;
+        this.fullResyncRequired = fullResyncRequired;
+    }
+
+    public List<Task> getChanged() {
+        return changed;
+    }
+
+    public void setChanged(List<Task> changed) {
+        this.changed = changed;
+    }
+
+    public List<String> getDeletedIds() {
+        return deletedIds;
+    }
+
+    public void setDeletedIds(List<String> deletedIds) {
+        this.deletedIds = deletedIds;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+    }
+
+    public boolean isFullResyncRequired() {
+        return fullResyncRequired;
+    }
+
+    public void setFullResyncRequired(boolean fullResyncRequired) {
+        this.fullResyncRequired = fullResyncRequired;
+    }
+}
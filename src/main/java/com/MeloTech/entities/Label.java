@@ -1,12 +1,17 @@
 package com.MeloTech.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDateTime;
+
 @Document (collection = "labels")
-public class Label {
+@CompoundIndex(name = "project_name_live", def = "{'projectId': 1, 'name': 1}", partialFilter = SoftDeletable.LIVE)
+public class Label implements SoftDeletable {
     @Id
     private String id;
     @NotBlank(message = "Label name is required")
@@ -17,6 +22,12 @@ public class Label {
     @NotBlank(message = "Project ID is required")
     private final String projectId;//marked as final to prevent change it
 
+    @JsonIgnore
+    private boolean deleted;
+    @JsonIgnore
+    @Indexed(expireAfter = SoftDeletable.RETENTION) // purges soft-deleted documents
+    private LocalDateTime deletedAt;
+
     public Label( String name, String color, String projectId) {
         this.name = name;
         this.color = color;
@@ -51,4 +62,20 @@ public class Label {
     public String getProjectId() {
         return projectId;
     }
+
+    @Override
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public void markDeleted(LocalDateTime deletedAt) {
+        this.deleted = true;
+        this.deletedAt = deletedAt;
+    }
 }
@@ -0,0 +1,23 @@
+package com.MeloTech.entities;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entity that can be marked deleted instead of being removed right away.
+ * <p>
+ * Live documents carry {@code deleted: false}; queries select on it so they can use the partial indexes declared
+ * with {@link #LIVE}. Deleted documents are purged by a TTL index on {@code deletedAt} once {@link #RETENTION} has
+ * passed.
+ */
+public interface SoftDeletable {
+    // Partial index filter shared by the indexes that only cover live documents
+    String LIVE = "{'deleted': false}";
+    // TTL of deleted documents; changing it on an existing index requires a collMod
+    String RETENTION = "30d";
+
+    boolean isDeleted();
+
+    LocalDateTime getDeletedAt();
+
+    void markDeleted(LocalDateTime deletedAt);
+}
@@ -1,14 +1,20 @@
 package com.MeloTech.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import java.time.LocalDateTime;
+
 /**
  * Represents a status in the system.
  */
 @Document(collection = "statuses")
-public class Status {
+@CompoundIndex(name = "project_name_live", def = "{'projectId': 1, 'name': 1}", partialFilter = SoftDeletable.LIVE)
+public class Status implements SoftDeletable {
     @Id
     private String id;
 
@@ -21,6 +27,12 @@ public class Status {
     @NotBlank(message = "Project ID is required")
     private final String projectId;//marked as final to prevent change it
 
+    @JsonIgnore
+    private boolean deleted;
+    @JsonIgnore
+    @Indexed(expireAfter = SoftDeletable.RETENTION) // purges soft-deleted documents
+    private LocalDateTime deletedAt;
+
     // Constructor
     public Status(String name, String color, String projectId) {
         this.name = name;
@@ -57,5 +69,19 @@ public class Status {
         return projectId;
     }
 
+    @Override
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
 
-}
\ No newline at end of file
+    @Override
+    public void markDeleted(LocalDateTime deletedAt) {
+        this.deleted = true;
+        this.deletedAt = deletedAt;
+    }
+}
@@ -1,19 +1,40 @@
 package com.MeloTech.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
-public class Task {
+@Document // default "task" collection, declared so the indexes below are created
+@CompoundIndexes({
+        @CompoundIndex(name = "project_lastUpdate", def = "{'projectId': 1, 'lastUpdateTime': 1}"), // delta sync
+        @CompoundIndex(name = "project_status_live", def = "{'projectId': 1, 'statusId': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "project_status_rank_live", def = "{'projectId': 1, 'statusId': 1, 'rank': 1, '_id': 1}", partialFilter = SoftDeletable.LIVE), // board columns
+        @CompoundIndex(name = "project_labels_live", def = "{'projectId': 1, 'labelIds': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "project_title_live", def = "{'projectId': 1, 'title': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "project_assignees_live", def = "{'projectId': 1, 'assigneeIds': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "project_dueDate_live", def = "{'projectId': 1, 'dueDate': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "project_span_live", def = "{'projectId': 1, 'startDate': 1, 'endDate': 1}", partialFilter = SoftDeletable.LIVE), // calendar
+        @CompoundIndex(name = "assignee_dueDate_id_live", def = "{'assigneeIds': 1, 'dueDate': 1, '_id': 1}", partialFilter = SoftDeletable.LIVE), // my tasks
+        @CompoundIndex(name = "dependencies_live", def = "{'dependencyIds': 1}", partialFilter = SoftDeletable.LIVE),
+        @CompoundIndex(name = "ancestors_live", def = "{'ancestorIds': 1}", partialFilter = SoftDeletable.LIVE) // subtrees
+})
+public class Task implements SoftDeletable {
 
     @Id
     private String id;
     @NotBlank(message = "Title shouldn't be empty")
     private String title;
     private String description;
+    private boolean descriptionExternal;//auto set, description only loaded by get-by-id
     private List<String>assigneeIds;
     private List<String> labelIds;
     private String statusId;
@@ -28,6 +49,18 @@ public class Task {
     private LocalDateTime endDate;//set by user
     private Double estimatedHours;//set by user
     private Double actualHours;//auto set after finish task
+    private String rank;//position within the status column, see LexoRank
+    //hierarchy
+    private String parentId;//set by user
+    private List<String> ancestorIds;//auto set, root first
+    private Double subtreeEstimatedHours;//auto set, sum over all subtasks
+    private Double subtreeActualHours;//auto set, sum over all subtasks
+    private List<String> attachmentIds;//auto set, GridFS file ids
+    @JsonIgnore
+    private boolean deleted;
+    @JsonIgnore
+    @Indexed(expireAfter = SoftDeletable.RETENTION) // purges soft-deleted documents
+    private LocalDateTime deletedAt;
 
     public Task(String id, String title, String description, List<String> labelIds, String statusId, List<String> dependencyIds, List<String> assigneeIds, LocalDateTime createDate, LocalDateTime lastUpdateTime, LocalDateTime dueDate, LocalDateTime startDate, LocalDateTime endDate, Double estimatedHours, Double actualHours) {
         this.id = id;
@@ -46,6 +79,34 @@ public class Task {
         this.actualHours = actualHours;
     }
 
+    /**
+     * Copies a task, including its lists, so that the copy can be changed without affecting the original.
+     * A factory rather than a constructor, as the mapping and JSON binding rely on the task having a single one.
+     *
+     * @param other The task to copy.
+     * @return The copy.
+     */
+    public static Task copyOf(Task other) {
+        Task task = new Task(other.id, other.title, other.description, copy(other.labelIds), other.statusId,
+                copy(other.dependencyIds), copy(other.assigneeIds), other.createDate, other.lastUpdateTime,
+                other.dueDate, other.startDate, other.endDate, other.estimatedHours, other.actualHours);
+        task.descriptionExternal = other.descriptionExternal;
+        task.projectId = other.projectId;
+        task.rank = other.rank;
+        task.parentId = other.parentId;
+        task.ancestorIds = copy(other.ancestorIds);
+        task.subtreeEstimatedHours = other.subtreeEstimatedHours;
+        task.subtreeActualHours = other.subtreeActualHours;
+        task.attachmentIds = copy(other.attachmentIds);
+        task.deleted = other.deleted;
+        task.deletedAt = other.deletedAt;
+        return task;
+    }
+
+    private static List<String> copy(List<String> list) {
+        return list == null ? null : new ArrayList<>(list);
+    }
+
     // Getters and Setters for assigneeIds
     public List<String> getAssigneeIds() {
         return assigneeIds;
@@ -89,6 +150,14 @@ public class Task {
         this.description = description;
     }
 
+    public boolean isDescriptionExternal() {
+        return descriptionExternal;
+    }
+
+    public void setDescriptionExternal(boolean descriptionExternal) {
+        this.descriptionExternal = descriptionExternal;
+    }
+
     public LocalDateTime getCreateDate() {
         return createDate;
     }
@@ -161,6 +230,54 @@ public class Task {
         this.actualHours = actualHours;
     }
 
+    public String getRank() {
+        return rank;
+    }
+
+    public void setRank(String rank) {
+        this.rank = rank;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public List<String> getAncestorIds() {
+        return ancestorIds;
+    }
+
+    public void setAncestorIds(List<String> ancestorIds) {
+        this.ancestorIds = ancestorIds;
+    }
+
+    public Double getSubtreeEstimatedHours() {
+        return subtreeEstimatedHours;
+    }
+
+    public void setSubtreeEstimatedHours(Double subtreeEstimatedHours) {
+        this.subtreeEstimatedHours = subtreeEstimatedHours;
+    }
+
+    public Double getSubtreeActualHours() {
+        return subtreeActualHours;
+    }
+
+    public void setSubtreeActualHours(Double subtreeActualHours) {
+        this.subtreeActualHours = subtreeActualHours;
+    }
+
+    public List<String> getAttachmentIds() {
+        return attachmentIds;
+    }
+
+    public void setAttachmentIds(List<String> attachmentIds) {
+        this.attachmentIds = attachmentIds;
+    }
+
     public LocalDateTime getLastUpdateTime() {
         return lastUpdateTime;
     }
@@ -168,4 +285,20 @@ public class Task {
     public void setLastUpdateTime(LocalDateTime lastUpdateTime) {
         this.lastUpdateTime = lastUpdateTime;
     }
+
+    @Override
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    @Override
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+
+    @Override
+    public void markDeleted(LocalDateTime deletedAt) {
+        this.deleted = true;
+        this.deletedAt = deletedAt;
+    }
 }
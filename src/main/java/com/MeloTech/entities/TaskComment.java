@@ -0,0 +1,55 @@
+package com.MeloTech.entities;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment on a task, stored inside a {@link TaskCommentBucket}.
+ */
+public class TaskComment {
+    private String id;//auto set
+    private String authorId;//auto set, the commenting user
+    private String body;//set by user
+    private LocalDateTime createdAt;//auto set
+
+    public TaskComment() {
+    }
+
+    public TaskComment(String id, String authorId, String body, LocalDateTime createdAt) {
+        this.id = id;
+        this.authorId = authorId;
+        this.body = body;
+        this.createdAt = createdAt;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public void setBody(String body) {
+        this.body = body;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,63 @@
+package com.MeloTech.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A run of consecutive comments on one task, oldest first. Buckets of a task are numbered from 0 and only the
+ * newest one is ever below capacity, so a comment is appended with a single {@code $push}.
+ */
+@Document(collection = "task_comment_buckets")
+@CompoundIndex(name = "task_seq", def = "{'taskId': 1, 'seq': 1}", unique = true)
+public class TaskCommentBucket {
+    @Id
+    private String id;
+    private String taskId;
+    private String projectId;
+    private int seq;
+    private int count;
+    private List<TaskComment> comments;
+    @Indexed(expireAfter = SoftDeletable.RETENTION) // purged along with its soft-deleted task
+    private LocalDateTime deletedAt;
+
+    public TaskCommentBucket(String taskId, String projectId, int seq, List<TaskComment> comments) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.seq = seq;
+        this.count = comments.size();
+        this.comments = comments;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public int getSeq() {
+        return seq;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public List<TaskComment> getComments() {
+        return comments;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
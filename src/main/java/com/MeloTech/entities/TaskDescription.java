@@ -0,0 +1,48 @@
+package com.MeloTech.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.LocalDateTime;
+
+/**
+ * The description of a task whose description is too long to keep in the task document, optionally deflated.
+ */
+@Document(collection = "task_descriptions")
+public class TaskDescription {
+    @Id
+    private String taskId;
+    private String projectId;
+    private byte[] content;
+    private boolean compressed;
+    @Indexed(expireAfter = SoftDeletable.RETENTION) // purged along with its soft-deleted task
+    private LocalDateTime deletedAt;
+
+    public TaskDescription(String taskId, String projectId, byte[] content, boolean compressed) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.content = content;
+        this.compressed = compressed;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public boolean isCompressed() {
+        return compressed;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,43 @@
+package com.MeloTech.entities;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Record of a deleted task, kept so that delta sync clients learn about deletions.
+ */
+@Document(collection = "task_tombstones")
+@CompoundIndex(name = "project_deletedAt", def = "{'projectId': 1, 'deletedAt': 1}")
+public class TaskTombstone {
+    // Clients that last synced before this window must reload the project
+    public static final Duration RETENTION = Duration.ofDays(30);
+
+    @Id
+    private String taskId;
+    private String projectId;
+    @Indexed(expireAfter = "30d") // TTL purge, keep in line with RETENTION
+    private LocalDateTime deletedAt;
+
+    public TaskTombstone(String taskId, String projectId, LocalDateTime deletedAt) {
+        this.taskId = taskId;
+        this.projectId = projectId;
+        this.deletedAt = deletedAt;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public String getProjectId() {
+        return projectId;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -2,14 +2,19 @@ package com.MeloTech.entities;
 
 import com.MeloTech.enums.AuthProviderEnum;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
 
+@Document // default "user" collection, declared so the indexes below are created
+@CompoundIndex(name = "usernameLowercase_id", def = "{'usernameLowercase': 1, '_id': 1}") // prefix search, paged by (username, id)
 public class User implements UserDetails {
 
     @Id
@@ -25,6 +30,8 @@ public class User implements UserDetails {
     @Indexed(unique = true) // Index on username
     private String username;
 
+    private String usernameLowercase; // Lowercase copy of username used for anchored prefix search
+
 
     private String password;
 
@@ -41,6 +48,7 @@ public class User implements UserDetails {
         this.firstName = firstName;
         this.lastName = lastName;
         this.username = username;
+        this.usernameLowercase = normalizeUsername(username);
         this.password = password;
         this.email = email;
         this.authProviderEnum=authProviderEnum;
@@ -98,6 +106,15 @@ public class User implements UserDetails {
 
     public void setUsername(String username) {
         this.username = username;
+        this.usernameLowercase = normalizeUsername(username);
+    }
+
+    public String getUsernameLowercase() {
+        return usernameLowercase;
+    }
+
+    public static String normalizeUsername(String username) {
+        return username == null ? null : username.toLowerCase(Locale.ROOT);
     }
 
     @Override
@@ -0,0 +1,107 @@
+package com.MeloTech.events;
+
+import com.MeloTech.caches.TaskFilterIndex;
+import com.MeloTech.caches.TaskIntervalIndex;
+import com.MeloTech.entities.Task;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import com.mongodb.client.model.changestream.FullDocumentBeforeChange;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+/**
+ * Feeds {@link TaskEventBroadcaster} from a MongoDB change stream on the task collection,
+ * so every node sees the changes made by every other node. Requires a replica set.
+ * <p>
+ * Deletions only carry the task id; their project is read from the pre-image, so the collection needs
+ * {@code changeStreamPreAndPostImages} enabled for delete events to reach subscribers.
+ */
+@Component
+@ConditionalOnProperty(name = "tasks.events.source", havingValue = "change-stream")
+public class TaskChangeStreamListener implements SmartLifecycle {
+    private final MongoTemplate mongoTemplate;
+    private final TaskEventBroadcaster broadcaster;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskIntervalIndex taskIntervalIndex;
+    private final MessageListenerContainer container;
+
+    public TaskChangeStreamListener(MongoTemplate mongoTemplate, TaskEventBroadcaster broadcaster, TaskFilterIndex taskFilterIndex,
+                                    TaskIntervalIndex taskIntervalIndex) {
+        this.mongoTemplate = mongoTemplate;
+        this.broadcaster = broadcaster;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskIntervalIndex = taskIntervalIndex;
+        this.container = new DefaultMessageListenerContainer(mongoTemplate);
+    }
+
+    @Override
+    public void start() {
+        ChangeStreamRequest<Task> request = ChangeStreamRequest.builder(this::onMessage)
+                .collection(mongoTemplate.getCollectionName(Task.class))
+                .fullDocumentLookup(FullDocument.UPDATE_LOOKUP)
+                .fullDocumentBeforeChangeLookup(FullDocumentBeforeChange.WHEN_AVAILABLE)
+                .build();
+        container.register(request, Task.class);
+        container.start();
+    }
+
+    @Override
+    public void stop() {
+        container.stop();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return container.isRunning();
+    }
+
+    private void onMessage(Message<ChangeStreamDocument<Document>, Task> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null || change.getOperationType() == null) {
+            return;
+        }
+
+        switch (change.getOperationType()) {
+            case INSERT -> {
+                Task task = message.getBody();
+                if (task != null) {
+                    publish(TaskChangedEvent.created(task));
+                }
+            }
+            case UPDATE, REPLACE -> {
+                Task task = message.getBody();
+                if (task != null && task.isDeleted()) {
+                    // Soft delete: the document stays but the task is gone for clients
+                    publish(TaskChangedEvent.deleted(task.getProjectId(), task.getId()));
+                } else if (task != null) {
+                    publish(TaskChangedEvent.updated(task));
+                }
+            }
+            case DELETE -> {
+                Document before = change.getFullDocumentBeforeChange();
+                BsonValue key = change.getDocumentKey() == null ? null : change.getDocumentKey().get("_id");
+                if (before != null && key != null) {
+                    String taskId = key.isObjectId() ? key.asObjectId().getValue().toHexString() : key.asString().getValue();
+                    publish(TaskChangedEvent.deleted(before.getString("projectId"), taskId));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void publish(TaskChangedEvent event) {
+        broadcaster.broadcast(event);
+        // Changes made on other nodes never reach this node's TaskChangedEvent listeners
+        taskFilterIndex.apply(event);
+        taskIntervalIndex.apply(event);
+    }
+}
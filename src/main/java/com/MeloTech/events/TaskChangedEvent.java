@@ -0,0 +1,32 @@
+package com.MeloTech.events;
+
+import com.MeloTech.entities.Task;
+
+/**
+ * Published after a task is created, updated or deleted.
+ *
+ * @param type      The kind of change.
+ * @param projectId The ID of the project the task belongs to.
+ * @param taskId    The ID of the changed task.
+ * @param task      The task after the change, or null for deletions.
+ */
+public record TaskChangedEvent(Type type, String projectId, String taskId, Task task) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+
+    public static TaskChangedEvent created(Task task) {
+        return new TaskChangedEvent(Type.CREATED, task.getProjectId(), task.getId(), task);
+    }
+
+    public static TaskChangedEvent updated(Task task) {
+        return new TaskChangedEvent(Type.UPDATED, task.getProjectId(), task.getId(), task);
+    }
+
+    public static TaskChangedEvent deleted(String projectId, String taskId) {
+        return new TaskChangedEvent(Type.DELETED, projectId, taskId, null);
+    }
+}
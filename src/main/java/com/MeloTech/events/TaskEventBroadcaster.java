@@ -0,0 +1,280 @@
+package com.MeloTech.events;
+
+import com.MeloTech.entities.Task;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fans task changes out to Server-Sent Events subscribers, one channel per project.
+ * <p>
+ * Every event is serialized once into an immutable SSE frame that is shared by all subscribers. Each subscriber
+ * owns a bounded queue drained by its own virtual thread, so a slow client never blocks the publisher or other
+ * clients; a client that falls too far behind is disconnected and resumes through {@code Last-Event-ID} from the
+ * project's replay buffer.
+ */
+@Component
+public class TaskEventBroadcaster {
+    private static final String RESET_EVENT = "RESET";
+
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+    private final ExecutorService drainers = Executors.newVirtualThreadPerTaskExecutor();
+    // Event ids are "<epoch>-<sequence>"; a new epoch per start lets clients detect ids from before a restart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ObjectMapper objectMapper;
+    private final boolean localSource;
+    private final int subscriberBufferSize;
+    private final int replaySize;
+    private final long emitterTimeoutMillis;
+    private final long heartbeatMillis;
+    private final long idleChannelMillis;
+
+    public TaskEventBroadcaster(ObjectMapper objectMapper,
+                                @Value("${tasks.events.source:local}") String source,
+                                @Value("${tasks.events.subscriber-buffer-size:256}") int subscriberBufferSize,
+                                @Value("${tasks.events.replay-size:512}") int replaySize,
+                                @Value("${tasks.events.emitter-timeout:30m}") Duration emitterTimeout,
+                                @Value("${tasks.events.heartbeat:20s}") Duration heartbeat,
+                                @Value("${tasks.events.idle-channel-timeout:10m}") Duration idleChannelTimeout) {
+        this.objectMapper = objectMapper;
+        this.localSource = "local".equals(source);
+        this.subscriberBufferSize = subscriberBufferSize;
+        this.replaySize = replaySize;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+        this.heartbeatMillis = heartbeat.toMillis();
+        this.idleChannelMillis = idleChannelTimeout.toMillis();
+    }
+
+    /**
+     * Opens an event stream for a project.
+     *
+     * @param projectId   The ID of the project.
+     * @param lastEventId (Optional) The id of the last event the client received, used to replay missed events.
+     * @return The emitter streaming the project's task events.
+     */
+    public SseEmitter subscribe(String projectId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(subscriberBufferSize));
+        // Registered within compute, so evictIdleChannels can't drop the channel before the subscriber is in it
+        Channel channel = channels.compute(projectId, (id, existing) -> {
+            Channel current = existing == null ? new Channel() : existing;
+            current.lock.lock();
+            try {
+                // Replay and registration happen under the channel lock so no event is missed or sent twice
+                List<Frame> missed = current.framesAfter(lastEventId, epoch);
+                if (missed == null || missed.size() > subscriberBufferSize) {
+                    subscriber.queue.offer(resetFrame());
+                } else {
+                    missed.forEach(subscriber.queue::offer);
+                }
+                current.subscribers.add(subscriber);
+            } finally {
+                current.lock.unlock();
+            }
+            return current;
+        });
+
+        Runnable unsubscribe = () -> {
+            channel.subscribers.remove(subscriber);
+            channel.touch();
+            subscriber.close();
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        subscriber.drainer = drainers.submit(() -> drain(subscriber, unsubscribe));
+        return emitter;
+    }
+
+    /**
+     * Forwards task changes made through TaskService, unless events come from MongoDB change streams instead.
+     * Changes made in a transaction are only sent once it commits.
+     *
+     * @param event The task change.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTaskChanged(TaskChangedEvent event) {
+        if (localSource) {
+            broadcast(event);
+        }
+    }
+
+    /**
+     * Sends a task change to every subscriber of its project.
+     *
+     * @param event The task change.
+     */
+    public void broadcast(TaskChangedEvent event) {
+        Channel channel = channels.get(event.projectId());
+        if (channel == null) {
+            return;
+        }
+
+        channel.lock.lock();
+        try {
+            Frame frame = toFrame(channel.nextSequence++, event);
+            channel.remember(frame, replaySize);
+            for (Subscriber subscriber : channel.subscribers) {
+                if (!subscriber.queue.offer(frame)) {
+                    // Too far behind: drop the client, it resumes from the replay buffer
+                    subscriber.emitter.complete();
+                }
+            }
+        } finally {
+            channel.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops replay buffers of projects nobody has listened to for a while.
+     */
+    @Scheduled(fixedDelayString = "${tasks.events.idle-channel-sweep:PT1M}")
+    public void evictIdleChannels() {
+        long now = System.currentTimeMillis();
+        for (String projectId : channels.keySet()) {
+            // Checked and removed atomically with respect to subscribe
+            channels.computeIfPresent(projectId, (id, channel) ->
+                    channel.subscribers.isEmpty() && now - channel.lastActive > idleChannelMillis ? null : channel);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drainers.shutdownNow();
+    }
+
+    private void drain(Subscriber subscriber, Runnable unsubscribe) {
+        try {
+            while (!subscriber.closed) {
+                Frame frame = subscriber.queue.poll(heartbeatMillis, TimeUnit.MILLISECONDS);
+                if (frame == null) {
+                    subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter.send(frame.data);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | IllegalStateException e) {
+            unsubscribe.run();
+        }
+    }
+
+    private Frame toFrame(long sequence, TaskChangedEvent event) {
+        String id = epoch + "-" + sequence;
+        String json;
+        try {
+            json = objectMapper.writeValueAsString(new Payload(event.type(), event.taskId(), event.task()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize task event", e);
+        }
+        return new Frame(sequence, SseEmitter.event().id(id).name(event.type().name()).data(json).build());
+    }
+
+    private Frame resetFrame() {
+        // The requested position is gone (restart or buffer overrun): the client must reload the board
+        return new Frame(-1, SseEmitter.event().name(RESET_EVENT).data("{}").build());
+    }
+
+    record Payload(TaskChangedEvent.Type type, String taskId, Task task) {
+    }
+
+    private record Frame(long sequence, Set<ResponseBodyEmitter.DataWithMediaType> data) {
+    }
+
+    private static final class Subscriber {
+        private final SseEmitter emitter;
+        private final BlockingQueue<Frame> queue;
+        private volatile boolean closed;
+        private volatile Future<?> drainer;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Frame> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private void close() {
+            closed = true;
+            Future<?> current = drainer;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+    }
+
+    private static final class Channel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+        private final ArrayDeque<Frame> recent = new ArrayDeque<>();
+        private long nextSequence = 1;
+        private volatile long lastActive = System.currentTimeMillis();
+
+        private void remember(Frame frame, int capacity) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(frame);
+            touch();
+        }
+
+        private void touch() {
+            lastActive = System.currentTimeMillis();
+        }
+
+        /**
+         * @return The frames after the given event id, or null when they are no longer available.
+         */
+        private List<Frame> framesAfter(String lastEventId, String epoch) {
+            if (lastEventId == null || lastEventId.isBlank()) {
+                return List.of();
+            }
+            int separator = lastEventId.lastIndexOf('-');
+            if (separator < 0 || !lastEventId.substring(0, separator).equals(epoch)) {
+                return null;
+            }
+            long lastSequence;
+            try {
+                lastSequence = Long.parseLong(lastEventId.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            long oldestAvailable = recent.isEmpty() ? nextSequence : recent.peekFirst().sequence();
+            if (lastSequence + 1 < oldestAvailable || lastSequence >= nextSequence) {
+                return null;
+            }
+            List<Frame> missed = new ArrayList<>();
+            for (Frame frame : recent) {
+                if (frame.sequence() > lastSequence) {
+                    missed.add(frame);
+                }
+            }
+            return missed;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.MeloTech.mappers;
+
+import com.MeloTech.entities.Project;
+
+/**
+ * Hand-written, reflection-free mapping for {@link Project}.
+ * Stateless, so it is safe to share across concurrent requests.
+ */
+public final class ProjectMapper {
+
+    private ProjectMapper() {
+    }
+
+    /**
+     * Copies the non-null, client-editable fields of a project onto an existing one.
+     * The id and owner are never taken from the source.
+     *
+     * @param source The project holding the updated values.
+     * @param target The project to update.
+     */
+    public static void mergeNonNull(Project source, Project target) {
+        if (source.getTitle() != null) {
+            target.setTitle(source.getTitle());
+        }
+        if (source.getDescription() != null) {
+            target.setDescription(source.getDescription());
+        }
+        if (source.getStartDate() != null) {
+            target.setStartDate(source.getStartDate());
+        }
+        if (source.getEndDate() != null) {
+            target.setEndDate(source.getEndDate());
+        }
+        if (source.getStatus() != null) {
+            target.setStatus(source.getStatus());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.MeloTech.entities.Label;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,14 @@ import java.util.Optional;
  */
 @Repository
 public interface LabelRepository extends MongoRepository<Label, String> {
+    /**
+     * Finds a label that has not been deleted.
+     *
+     * @param id The ID of the label.
+     * @return An optional containing the label if found.
+     */
+    Optional<Label> findByIdAndDeletedFalse(String id);
+
     /**
      * Finds a label by its name and project ID.
      *
@@ -19,7 +28,7 @@ public interface LabelRepository extends MongoRepository<Label, String> {
      * @param projectId The ID of the project.
      * @return An optional containing the label if found.
      */
-    Optional<Label> findByNameAndProjectId(String name, String projectId);
+    Optional<Label> findByNameAndProjectIdAndDeletedFalse(String name, String projectId);
 
     /**
      * Finds all labels in a project.
@@ -27,7 +36,7 @@ public interface LabelRepository extends MongoRepository<Label, String> {
      * @param projectId The ID of the project.
      * @return A list of labels in the project.
      */
-    List<Label> findByProjectId(String projectId);
+    List<Label> findByProjectIdAndDeletedFalse(String projectId);
 
     /**
      * Finds a label by its ID and project ID.
@@ -36,5 +45,13 @@ public interface LabelRepository extends MongoRepository<Label, String> {
      * @param projectId The ID of the project.
      * @return An optional containing the label if found and it belongs to the project.
      */
-    Optional<Label> findByIdAndProjectId(String id, String projectId);
-}
\ No newline at end of file
+    Optional<Label> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
+
+    /**
+     * Finds the labeles with the given IDs in one query.
+     *
+     * @param ids The IDs of the labeles.
+     * @return The labeles found; deleted or unknown IDs are skipped.
+     */
+    List<Label> findByIdInAndDeletedFalse(Collection<String> ids);
+}
@@ -13,6 +13,10 @@ public interface ProjectRepository extends MongoRepository<Project, String> {
     @Query("{ $or: [ { 'ownerUserId': ?0 }, { 'teamMemberIds': ?0 } ] }")
     ArrayList<Project> findByOwnerUserIdOrTeamMemberIdsContains(String userId);
 
+    // Only the IDs of the projects the user owns or belongs to
+    @Query(value = "{ $or: [ { 'ownerUserId': ?0 }, { 'teamMemberIds': ?0 } ] }", fields = "{ '_id': 1 }")
+    List<Project> findIdsByOwnerUserIdOrTeamMemberIdsContains(String userId);
+
     // Find projects where user is the owner
     ArrayList<Project> findByOwnerUserId(String userId);
 
@@ -4,6 +4,7 @@ import com.MeloTech.entities.Status;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +13,14 @@ import java.util.Optional;
  */
 @Repository
 public interface StatusRepository extends MongoRepository<Status, String> {
+    /**
+     * Finds a status that has not been deleted.
+     *
+     * @param id The ID of the status.
+     * @return An optional containing the status if found.
+     */
+    Optional<Status> findByIdAndDeletedFalse(String id);
+
     /**
      * Finds a status by its name and project ID.
      *
@@ -19,7 +28,7 @@ public interface StatusRepository extends MongoRepository<Status, String> {
      * @param projectId The ID of the project.
      * @return An optional containing the status if found.
      */
-    Optional<Status> findByNameAndProjectId(String name, String projectId);
+    Optional<Status> findByNameAndProjectIdAndDeletedFalse(String name, String projectId);
 
     /**
      * Finds a status by its ID and project ID.
@@ -28,7 +37,7 @@ public interface StatusRepository extends MongoRepository<Status, String> {
      * @param projectId The ID of the project.
      * @return An optional containing the status if found and it belongs to the project.
      */
-    Optional<Status> findByIdAndProjectId(String id, String projectId);
+    Optional<Status> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
 
     /**
      * Finds all statuses in a project.
@@ -36,6 +45,13 @@ public interface StatusRepository extends MongoRepository<Status, String> {
      * @param projectId The ID of the project.
      * @return A list of statuses in the project.
      */
-    List<Status> findByProjectId(String projectId);
+    List<Status> findByProjectIdAndDeletedFalse(String projectId);
 
-}
\ No newline at end of file
+    /**
+     * Finds the statuses with the given IDs in one query.
+     *
+     * @param ids The IDs of the statuses.
+     * @return The statuses found; deleted or unknown IDs are skipped.
+     */
+    List<Status> findByIdInAndDeletedFalse(Collection<String> ids);
+}
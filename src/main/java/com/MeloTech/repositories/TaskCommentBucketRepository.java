@@ -0,0 +1,18 @@
+package com.MeloTech.repositories;
+
+import com.MeloTech.entities.TaskCommentBucket;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TaskCommentBucketRepository extends MongoRepository<TaskCommentBucket, String> {
+    // Newest bucket of a live task's comments
+    Optional<TaskCommentBucket> findFirstByTaskIdAndProjectIdAndDeletedAtIsNullOrderBySeqDesc(String taskId, String projectId);
+
+    // Newest bucket of a live task's comments before a bucket number (paging back)
+    Optional<TaskCommentBucket> findFirstByTaskIdAndProjectIdAndDeletedAtIsNullAndSeqLessThanOrderBySeqDesc(String taskId, String projectId, int seq);
+
+    void deleteByTaskId(String taskId);
+}
@@ -0,0 +1,9 @@
+package com.MeloTech.repositories;
+
+import com.MeloTech.entities.TaskDescription;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TaskDescriptionRepository extends MongoRepository<TaskDescription, String> {
+}
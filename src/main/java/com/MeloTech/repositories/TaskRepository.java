@@ -1,19 +1,27 @@
 package com.MeloTech.repositories;
 
 import com.MeloTech.entities.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends MongoRepository<Task, String> {
+    // Find a task that has not been deleted
+    Optional<Task> findByIdAndDeletedFalse(String id);
+
     // Find all tasks in a project
-    List<Task> findByProjectId(String projectId);
+    List<Task> findByProjectIdAndDeletedFalse(String projectId);
 
-    Optional<Task>findByTitleAndProjectId(String name ,String projectId);
+    Optional<Task>findByTitleAndProjectIdAndDeletedFalse(String name ,String projectId);
     /**
      * Finds a task by its ID and project ID.
      *
@@ -21,19 +29,44 @@ public interface TaskRepository extends MongoRepository<Task, String> {
      * @param projectId The ID of the project.
      * @return An optional containing the task if found and it belongs to the project.
      */
-    Optional<Task> findByIdAndProjectId(String id, String projectId);
+    Optional<Task> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
+
+    // Tasks in a project modified at or after the watermark (delta sync)
+    List<Task> findByProjectIdAndLastUpdateTimeGreaterThanEqualAndDeletedFalse(String projectId, LocalDateTime since);
 
     //Find all tasks that contain this task id in dependency
-    List<Task> findByDependencyIdsContaining(String taskId);
+    List<Task> findByDependencyIdsContainingAndDeletedFalse(String taskId);
+
+    // All subtasks below a task, at any depth
+    List<Task> findByAncestorIdsContainingAndDeletedFalse(String taskId);
 
     // Find tasks by project ID and status ID
-    List<Task> findByProjectIdAndStatusId(String projectId, String statusId);
+    List<Task> findByProjectIdAndStatusIdAndDeletedFalse(String projectId, String statusId);
+
+    // Last card of a board column (statusId may be null); ties on rank broken by _id, as on the board
+    Optional<Task> findFirstByProjectIdAndStatusIdAndDeletedFalseOrderByRankDescIdDesc(String projectId, String statusId);
 
     // Find tasks by project ID and label ID
-    @Query("{ 'projectId': ?0, 'labelIds': ?1 }")
+    @Query("{ 'projectId': ?0, 'labelIds': ?1, 'deleted': false }")
     List<Task> findByProjectIdAndLabelId(String projectId, String labelId);
 
     // Find tasks by project ID, status ID, and label ID
-    @Query("{ 'projectId': ?0, 'statusId': ?1, 'labelIds': ?2 }")
+    @Query("{ 'projectId': ?0, 'statusId': ?1, 'labelIds': ?2, 'deleted': false }")
     List<Task> findByProjectIdAndStatusIdAndLabelId(String projectId, String statusId, String labelId);
+
+    // Tasks assigned to a user across the given projects, served by the {assigneeIds, dueDate, _id} index
+    @Query("{ 'assigneeIds': ?0, 'projectId': { $in: ?1 }, 'deleted': false }")
+    Slice<Task> findAssignedInProjects(String assigneeId, Collection<String> projectIds, Pageable pageable);
+
+    // Tasks whose [startDate, endDate] span overlaps [from, to], or that are due within it
+    @Query("{ 'projectId': ?0, 'deleted': false, $or: [ { 'startDate': { $lte: ?2 }, 'endDate': { $gte: ?1 } }, { 'dueDate': { $gte: ?1, $lte: ?2 } } ] }")
+    List<Task> findOverlapping(String projectId, LocalDateTime from, LocalDateTime to);
+
+    // Unfinished tasks (no endDate) due before a time, outside the excluded statuses
+    @Query("{ 'projectId': ?0, 'deleted': false, 'dueDate': { $lt: ?1 }, 'endDate': null, 'statusId': { $nin: ?2 } }")
+    List<Task> findOpenDueBefore(String projectId, LocalDateTime before, Collection<String> excludeStatusIds, Sort sort);
+
+    // Unfinished tasks (no endDate) due in [from, to), outside the excluded statuses
+    @Query("{ 'projectId': ?0, 'deleted': false, 'dueDate': { $gte: ?1, $lt: ?2 }, 'endDate': null, 'statusId': { $nin: ?3 } }")
+    List<Task> findOpenDueBetween(String projectId, LocalDateTime from, LocalDateTime to, Collection<String> excludeStatusIds, Sort sort);
 }
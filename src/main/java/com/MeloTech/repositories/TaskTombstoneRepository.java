@@ -0,0 +1,14 @@
+package com.MeloTech.repositories;
+
+import com.MeloTech.entities.TaskTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface TaskTombstoneRepository extends MongoRepository<TaskTombstone, String> {
+    // Deletions in a project at or after the watermark
+    List<TaskTombstone> findByProjectIdAndDeletedAtGreaterThanEqual(String projectId, LocalDateTime since);
+}
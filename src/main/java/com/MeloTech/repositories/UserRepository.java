@@ -1,15 +1,30 @@
 package com.MeloTech.repositories;
 
+import com.MeloTech.dtos.UserDto;
 import com.MeloTech.entities.User;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface UserRepository extends MongoRepository<User, String> {
     User findByUsernameAndPassword(String username, String password);
 
+    // DTO projections: only the UserDto fields are read from MongoDB
+    Optional<UserDto> findProjectedById(String id);
+
+    Page<UserDto> findAllProjectedBy(Pageable pageable);
+
+    List<UserDto> findProjectedByIdIn(Collection<String> ids);
+
     boolean existsByUsername(String username);
 
     boolean existsByEmail(String email);
@@ -19,8 +34,22 @@ public interface UserRepository extends MongoRepository<User, String> {
     User findByEmail(String email);
 
     ArrayList<User> findByUsernameIn(List<String> usernames);
-    @Query("{ 'username': { $regex: '^?0', $options: 'i' } }")
-    ArrayList<User> findByUsernameStartingWith(String prefix);
+
+    // Range scan over the indexed lowercase username: [lowerBound, upperBound), projected onto UserDto.
+    // A List, not a Stream: only collection queries apply the Pageable's limit
+    @Query(value = "{ 'usernameLowercase': { $gte: ?0, $lt: ?1 } }",
+            fields = "{ 'firstName': 1, 'lastName': 1, 'username': 1, 'email': 1 }")
+    List<UserDto> findByUsernameLowercaseBetween(String lowerBound, String upperBound, Pageable pageable);
+
+    // Same range continued after the (usernameLowercase, _id) cursor, as usernames differing only in case share a key
+    @Query(value = "{ 'usernameLowercase': { $gte: ?0, $lt: ?2 }, $or: [ { 'usernameLowercase': { $gt: ?0 } }, { 'usernameLowercase': ?0, '_id': { $gt: ?1 } } ] }",
+            fields = "{ 'firstName': 1, 'lastName': 1, 'username': 1, 'email': 1 }")
+    List<UserDto> findByUsernameLowercaseAfter(String cursorUsername, ObjectId cursorId, String upperBound, Pageable pageable);
 
     ArrayList<User> findByIdIn(List<String> userIds);
+
+    // Whole user directory as a cursor-backed stream of UserDto, fetched in bounded batches
+    @Meta(cursorBatchSize = 500)
+    @Query(value = "{}", fields = "{ 'firstName': 1, 'lastName': 1, 'username': 1, 'email': 1 }")
+    Stream<UserDto> streamAllBy();
 }
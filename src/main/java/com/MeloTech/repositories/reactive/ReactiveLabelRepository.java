@@ -0,0 +1,30 @@
+package com.MeloTech.repositories.reactive;
+
+import com.MeloTech.entities.Label;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.MeloTech.repositories.LabelRepository}, only active with the "reactive" profile.
+ */
+@Repository
+public interface ReactiveLabelRepository extends ReactiveMongoRepository<Label, String> {
+    /**
+     * Finds a label by its ID and project ID.
+     *
+     * @param id        The ID of the label.
+     * @param projectId The ID of the project.
+     * @return A mono emitting the label if found and it belongs to the project.
+     */
+    Mono<Label> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
+
+    /**
+     * Finds all labels in a project.
+     *
+     * @param projectId The ID of the project.
+     * @return A flux of labels in the project.
+     */
+    Flux<Label> findByProjectIdAndDeletedFalse(String projectId);
+}
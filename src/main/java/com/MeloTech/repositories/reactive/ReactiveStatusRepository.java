@@ -0,0 +1,30 @@
+package com.MeloTech.repositories.reactive;
+
+import com.MeloTech.entities.Status;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.MeloTech.repositories.StatusRepository}, only active with the "reactive" profile.
+ */
+@Repository
+public interface ReactiveStatusRepository extends ReactiveMongoRepository<Status, String> {
+    /**
+     * Finds a status by its ID and project ID.
+     *
+     * @param id        The ID of the status.
+     * @param projectId The ID of the project.
+     * @return A mono emitting the status if found and it belongs to the project.
+     */
+    Mono<Status> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
+
+    /**
+     * Finds all statuses in a project.
+     *
+     * @param projectId The ID of the project.
+     * @return A flux of statuses in the project.
+     */
+    Flux<Status> findByProjectIdAndDeletedFalse(String projectId);
+}
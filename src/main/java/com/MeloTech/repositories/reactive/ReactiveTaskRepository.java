@@ -0,0 +1,37 @@
+package com.MeloTech.repositories.reactive;
+
+import com.MeloTech.entities.Task;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking counterpart of {@link com.MeloTech.repositories.TaskRepository}, only active with the "reactive" profile.
+ */
+@Repository
+public interface ReactiveTaskRepository extends ReactiveMongoRepository<Task, String> {
+    // Find all tasks in a project
+    Flux<Task> findByProjectIdAndDeletedFalse(String projectId);
+
+    /**
+     * Finds a task by its ID and project ID.
+     *
+     * @param id        The ID of the task.
+     * @param projectId The ID of the project.
+     * @return A mono emitting the task if found and it belongs to the project.
+     */
+    Mono<Task> findByIdAndProjectIdAndDeletedFalse(String id, String projectId);
+
+    // Find tasks by project ID and status ID
+    Flux<Task> findByProjectIdAndStatusIdAndDeletedFalse(String projectId, String statusId);
+
+    // Find tasks by project ID and label ID
+    @Query("{ 'projectId': ?0, 'labelIds': ?1, 'deleted': false }")
+    Flux<Task> findByProjectIdAndLabelId(String projectId, String labelId);
+
+    // Find tasks by project ID, status ID, and label ID
+    @Query("{ 'projectId': ?0, 'statusId': ?1, 'labelIds': ?2, 'deleted': false }")
+    Flux<Task> findByProjectIdAndStatusIdAndLabelId(String projectId, String statusId, String labelId);
+}
@@ -1,10 +1,13 @@
 package com.MeloTech.services;
 
+import com.MeloTech.dtos.CleanupJobDto;
 import com.MeloTech.entities.Label;
 import com.MeloTech.repositories.LabelRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +17,15 @@ import java.util.Optional;
 @Service
 public class LabelService {
     private final LabelRepository labelRepository;
+    private final TaskReferenceCleanupService taskReferenceCleanupService;
+    private final boolean softDelete;
 
     @Autowired
-    public LabelService(LabelRepository labelRepository) {
+    public LabelService(LabelRepository labelRepository, TaskReferenceCleanupService taskReferenceCleanupService,
+                        @Value("${deletion.mode:soft}") String deletionMode) {
         this.labelRepository = labelRepository;
+        this.taskReferenceCleanupService = taskReferenceCleanupService;
+        this.softDelete = "soft".equals(deletionMode);
     }
 
     /**
@@ -41,7 +49,7 @@ public class LabelService {
      * @return A list of labels in the project.
      */
     public List<Label> getLabelsByProjectId(String projectId) {
-        return labelRepository.findByProjectId(projectId);
+        return labelRepository.findByProjectIdAndDeletedFalse(projectId);
     }
 
     /**
@@ -52,7 +60,7 @@ public class LabelService {
      * @return An optional containing the label if found and it belongs to the project.
      */
     public Optional<Label> getLabelById(String id, String projectId) {
-        return labelRepository.findById(id)
+        return labelRepository.findByIdAndDeletedFalse(id)
                 .filter(label -> label.getProjectId().equals(projectId));
     }
 
@@ -67,7 +75,7 @@ public class LabelService {
      * @throws RuntimeException         If the label is not found or does not belong to the project.
      */
     public Label updateLabel(String id, Label labelDetails, String projectId) {
-        return labelRepository.findById(id)
+        return labelRepository.findByIdAndDeletedFalse(id)
                 .map(label -> {
                     // Ensure the label belongs to the project
                     if (!label.getProjectId().equals(projectId)) {
@@ -86,15 +94,16 @@ public class LabelService {
     }
 
     /**
-     * Deletes a label and ensures it belongs to the project.
+     * Deletes a label, ensures it belongs to the project and removes it from the project's tasks.
      *
      * @param projectId The ID of the project.
      * @param id        The ID of the label to delete.
+     * @return The job removing the label from tasks; still running for big projects.
      * @throws IllegalArgumentException If the label does not belong to the project.
      * @throws RuntimeException         If the label is not found.
      */
-    public void deleteLabel(String projectId, String id) {
-        Label label = labelRepository.findById(id)
+    public CleanupJobDto deleteLabel(String projectId, String id) {
+        Label label = labelRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("Label not found"));
 
         // Ensure the label belongs to the project
@@ -102,7 +111,14 @@ public class LabelService {
             throw new IllegalArgumentException("Label does not belong to this project");
         }
 
-        labelRepository.delete(label);
+        if (softDelete) {
+            // Kept until the TTL index purges it, hidden from every query meanwhile
+            label.markDeleted(LocalDateTime.now());
+            labelRepository.save(label);
+        } else {
+            labelRepository.delete(label);
+        }
+        return taskReferenceCleanupService.removeLabel(projectId, id);
     }
 
 
@@ -114,7 +130,7 @@ public class LabelService {
      * @throws IllegalArgumentException If a label with the same name already exists in the project.
      */
     private void validateLabelNameUniqueness(String name, String projectId) {
-        if (labelRepository.findByNameAndProjectId(name, projectId).isPresent()) {
+        if (labelRepository.findByNameAndProjectIdAndDeletedFalse(name, projectId).isPresent()) {
             throw new IllegalArgumentException("Label name already exists in this project");
         }
     }
@@ -128,7 +144,7 @@ public class LabelService {
      * @throws IllegalArgumentException If a label with the same name already exists in the project.
      */
     private void validateLabelNameUniqueness(String name, String projectId, String excludeId) {
-        labelRepository.findByNameAndProjectId(name, projectId)
+        labelRepository.findByNameAndProjectIdAndDeletedFalse(name, projectId)
                 .ifPresent(label -> {
                     if (!label.getId().equals(excludeId)) {
                         throw new IllegalArgumentException("Label name already exists in this project");
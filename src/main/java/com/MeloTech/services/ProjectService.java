@@ -4,60 +4,66 @@ package com.MeloTech.services;
 import com.MeloTech.entities.Project;
 import com.MeloTech.repositories.ProjectRepository;
 import com.MeloTech.entities.User;
+import com.MeloTech.mappers.ProjectMapper;
 import com.MeloTech.repositories.UserRepository;
-import org.modelmapper.ModelMapper;
+import com.mongodb.client.result.UpdateResult;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @Transactional
 public class ProjectService {
     private final ProjectRepository projectRepository;
     private final UserRepository userRepository;
+    private final MongoTemplate mongoTemplate;
 
-    private final ModelMapper modelMapper = new ModelMapper();
-
-    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository) {
+    public ProjectService(ProjectRepository projectRepository, UserRepository userRepository, MongoTemplate mongoTemplate) {
         this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.mongoTemplate = mongoTemplate;
     }
 
     public Project createProject(String userId, Project project) {
-        Optional<User> currentUserOptional = this.userRepository.findById(userId);
-        if (currentUserOptional.isEmpty())
+        // Generate the id up front so the project can be inserted once with the owner already a member
+        String projectId = new ObjectId().toHexString();
+
+        // Link the project to its owner, which also verifies the user exists
+        UpdateResult ownerUpdate = this.mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(userId)),
+                new Update().addToSet("projectIds", projectId),
+                User.class);
+        if (ownerUpdate.getMatchedCount() == 0)
             throw new IllegalArgumentException("User with ID " + userId + " not found!");
 
-        User currentUser = currentUserOptional.get();
-
-        project.setOwnerUserId(currentUser.getId());
-        Project newProject = this.projectRepository.save(project);
+        project.setId(projectId);
+        project.setOwnerUserId(userId);
 
         // Add owner as a team member
-        if (newProject.getTeamMemberIds() == null) {
-            newProject.setTeamMemberIds(new ArrayList<>());
+        if (project.getTeamMemberIds() == null) {
+            project.setTeamMemberIds(new ArrayList<>());
         }
-        newProject.addTeamMemberId(currentUser.getId());
-        newProject = this.projectRepository.save(newProject);
-
-        // Update user's project list
-        currentUser.addProject(newProject.getId());
-        this.userRepository.save(currentUser);
+        project.addTeamMemberId(userId);
 
-        return newProject;
+        return this.projectRepository.insert(project);
     }
 
     public void deleteProject(String userId, String projectId) {
-        Optional<User> currentUserOptional = this.userRepository.findById(userId);
-        if (currentUserOptional.isEmpty())
+        if (!this.userRepository.existsById(userId))
             throw new IllegalArgumentException("User with ID " + userId + " not found!");
 
-        User currentUser = currentUserOptional.get();
-
         Optional<Project> projectOptional = this.projectRepository.findById(projectId);
 
         if (projectOptional.isEmpty())
@@ -66,7 +72,7 @@ public class ProjectService {
         Project project = projectOptional.get();
 
         // Only project owner can delete the project
-        if (!Objects.equals(project.getOwnerUserId(), currentUser.getId())) {
+        if (!Objects.equals(project.getOwnerUserId(), userId)) {
             throw new IllegalArgumentException("Only project owner can delete the project");
         }
 
@@ -81,16 +87,14 @@ public class ProjectService {
     }
 
     public ArrayList<Project> getAllProjects(String userId) {
-        Optional<User> currentUserOptional = this.userRepository.findById(userId);
-        if (currentUserOptional.isEmpty())
+        if (!this.userRepository.existsById(userId))
             throw new IllegalArgumentException("User with ID " + userId + " not found!");
 
         return this.projectRepository.findByOwnerUserIdOrTeamMemberIdsContains(userId);
     }
 
     public Project updateProject(String userId, String projectId, Project updatedProject) {
-        Optional<User> currentUserOptional = this.userRepository.findById(userId);
-        if (currentUserOptional.isEmpty())
+        if (!this.userRepository.existsById(userId))
             throw new IllegalArgumentException("User with ID " + userId + " not found!");
 
         Optional<Project> projectOptional = this.projectRepository.findById(projectId);
@@ -105,24 +109,37 @@ public class ProjectService {
             throw new IllegalArgumentException("Only project owner can update the project");
         }
 
-        // Remove project from old team members' project lists
-        ArrayList<User> oldProjectUsers = this.userRepository.findByIdIn(existingProject.getTeamMemberIds());
-        oldProjectUsers.forEach(user -> {
-            user.deleteProject(existingProject.getId());
-        });
-        this.userRepository.saveAll(oldProjectUsers);
+        ArrayList<String> oldMemberList = existingProject.getTeamMemberIds() == null
+                ? new ArrayList<>()
+                : new ArrayList<>(existingProject.getTeamMemberIds());
 
-        existingProject.getTeamMemberIds().clear();
         // Copy non-null properties from updatedProject to existingProject
-        modelMapper.getConfiguration().setSkipNullEnabled(true); // Skip null values
-        modelMapper.map(updatedProject, existingProject);
-
-        // Add project to new team members' project lists
-        ArrayList<User> newProjectUsers = this.userRepository.findByIdIn(existingProject.getTeamMemberIds());
-        newProjectUsers.forEach(user -> {
-            user.addProject(existingProject.getId());
-        });
-        this.userRepository.saveAll(newProjectUsers);
+        ProjectMapper.mergeNonNull(updatedProject, existingProject);
+
+        // A null member list leaves the team unchanged, otherwise it replaces it
+        ArrayList<String> newMemberList = updatedProject.getTeamMemberIds() == null
+                ? oldMemberList
+                : new ArrayList<>(new LinkedHashSet<>(updatedProject.getTeamMemberIds()));
+        existingProject.setTeamMemberIds(newMemberList);
+
+        // Only touch the users whose membership actually changed
+        Set<String> oldMemberIds = new HashSet<>(oldMemberList);
+        Set<String> newMemberIds = new HashSet<>(newMemberList);
+        List<String> removedMemberIds = oldMemberIds.stream().filter(id -> !newMemberIds.contains(id)).toList();
+        List<String> addedMemberIds = newMemberIds.stream().filter(id -> !oldMemberIds.contains(id)).toList();
+
+        if (!removedMemberIds.isEmpty()) {
+            this.mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("id").in(removedMemberIds)),
+                    new Update().pull("projectIds", projectId),
+                    User.class);
+        }
+        if (!addedMemberIds.isEmpty()) {
+            this.mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("id").in(addedMemberIds)),
+                    new Update().addToSet("projectIds", projectId),
+                    User.class);
+        }
 
         return projectRepository.save(existingProject);
     }
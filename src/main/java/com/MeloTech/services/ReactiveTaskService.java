@@ -0,0 +1,74 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.repositories.reactive.ReactiveLabelRepository;
+import com.MeloTech.repositories.reactive.ReactiveStatusRepository;
+import com.MeloTech.repositories.reactive.ReactiveTaskRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking read side of {@link TaskService}, only active with the "reactive" profile.
+ * Writes keep going through {@link TaskService}.
+ */
+@Service
+@Profile("reactive")
+public class ReactiveTaskService {
+    private final ReactiveTaskRepository taskRepository;
+    private final ReactiveStatusRepository statusRepository;
+    private final ReactiveLabelRepository labelRepository;
+
+    public ReactiveTaskService(ReactiveTaskRepository taskRepository, ReactiveStatusRepository statusRepository,
+                               ReactiveLabelRepository labelRepository) {
+        this.taskRepository = taskRepository;
+        this.statusRepository = statusRepository;
+        this.labelRepository = labelRepository;
+    }
+
+    /**
+     * Streams the tasks of a project, optionally filtered by status and label.
+     * Filters naming a status or label outside the project complete empty without querying tasks.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  (Optional) The ID of the status to filter by.
+     * @param labelId   (Optional) The ID of the label to filter by.
+     * @return A flux of the matching tasks.
+     */
+    public Flux<Task> getFilteredTasks(String projectId, String statusId, String labelId) {
+        Mono<Boolean> statusInProject = statusId == null
+                ? Mono.just(true)
+                : statusRepository.findByIdAndProjectIdAndDeletedFalse(statusId, projectId).hasElement();
+        Mono<Boolean> labelInProject = labelId == null
+                ? Mono.just(true)
+                : labelRepository.findByIdAndProjectIdAndDeletedFalse(labelId, projectId).hasElement();
+
+        return Mono.zip(statusInProject, labelInProject, Boolean::logicalAnd)
+                .filter(Boolean::booleanValue)
+                .flatMapMany(valid -> findTasks(projectId, statusId, labelId));
+    }
+
+    /**
+     * Gets a specific task from a project.
+     *
+     * @param id        The ID of the task.
+     * @param projectId The ID of the project.
+     * @return A mono emitting the task if found and it belongs to the project.
+     */
+    public Mono<Task> getTaskByIdAndProjectId(String id, String projectId) {
+        return taskRepository.findByIdAndProjectIdAndDeletedFalse(id, projectId);
+    }
+
+    private Flux<Task> findTasks(String projectId, String statusId, String labelId) {
+        if (statusId != null && labelId != null) {
+            return taskRepository.findByProjectIdAndStatusIdAndLabelId(projectId, statusId, labelId);
+        } else if (statusId != null) {
+            return taskRepository.findByProjectIdAndStatusIdAndDeletedFalse(projectId, statusId);
+        } else if (labelId != null) {
+            return taskRepository.findByProjectIdAndLabelId(projectId, labelId);
+        } else {
+            return taskRepository.findByProjectIdAndDeletedFalse(projectId);
+        }
+    }
+}
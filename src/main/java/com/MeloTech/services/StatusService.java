@@ -1,10 +1,13 @@
 package com.MeloTech.services;
 
+import com.MeloTech.dtos.CleanupJobDto;
 import com.MeloTech.entities.Status;
 import com.MeloTech.repositories.StatusRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -14,10 +17,15 @@ import java.util.Optional;
 @Service
 public class StatusService {
     private final StatusRepository statusRepository;
+    private final TaskReferenceCleanupService taskReferenceCleanupService;
+    private final boolean softDelete;
 
     @Autowired
-    public StatusService(StatusRepository statusRepository) {
+    public StatusService(StatusRepository statusRepository, TaskReferenceCleanupService taskReferenceCleanupService,
+                         @Value("${deletion.mode:soft}") String deletionMode) {
         this.statusRepository = statusRepository;
+        this.taskReferenceCleanupService = taskReferenceCleanupService;
+        this.softDelete = "soft".equals(deletionMode);
     }
 
     /**
@@ -41,7 +49,7 @@ public class StatusService {
      * @return A list of statuses in the project.
      */
     public List<Status> getStatusesByProjectId(String projectId) {
-        return statusRepository.findByProjectId(projectId);
+        return statusRepository.findByProjectIdAndDeletedFalse(projectId);
     }
 
     /**
@@ -52,7 +60,7 @@ public class StatusService {
      * @return An optional containing the status if found and it belongs to the project.
      */
     public Optional<Status> getStatusById(String id, String projectId) {
-        return statusRepository.findById(id)
+        return statusRepository.findByIdAndDeletedFalse(id)
                 .filter(status -> status.getProjectId().equals(projectId));
     }
 
@@ -67,7 +75,7 @@ public class StatusService {
      * @throws RuntimeException         If the status is not found.
      */
     public Status updateStatus(String id, Status statusDetails, String projectId) {
-        return statusRepository.findById(id)
+        return statusRepository.findByIdAndDeletedFalse(id)
                 .map(status -> {
                     // Ensure the status belongs to the project
                     if (!status.getProjectId().equals(projectId)) {
@@ -86,23 +94,37 @@ public class StatusService {
     }
 
     /**
-     * Deletes a status and ensures it belongs to the project.
+     * Deletes a status, ensures it belongs to the project and moves its tasks to the fallback status,
+     * or leaves them without a status.
      *
-     * @param projectId The ID of the project.
-     * @param id        The ID of the status to delete.
-     * @throws IllegalArgumentException If the status does not belong to the project.
+     * @param projectId        The ID of the project.
+     * @param id               The ID of the status to delete.
+     * @param fallbackStatusId (Optional) The ID of the status that takes over the deleted status's tasks.
+     * @return The job updating the tasks; still running for big projects.
+     * @throws IllegalArgumentException If the status does not belong to the project or the fallback status is invalid.
      * @throws RuntimeException         If the status is not found.
      */
-    public void deleteStatus(String projectId, String id) {
-        Status status = statusRepository.findById(id)
+    public CleanupJobDto deleteStatus(String projectId, String id, String fallbackStatusId) {
+        Status status = statusRepository.findByIdAndDeletedFalse(id)
                 .orElseThrow(() -> new RuntimeException("Status not found"));
 
         // Ensure the status belongs to the project
         if (!status.getProjectId().equals(projectId)) {
             throw new IllegalArgumentException("Status does not belong to this project");
         }
+        if (fallbackStatusId != null && (fallbackStatusId.equals(id)
+                || statusRepository.findByIdAndProjectIdAndDeletedFalse(fallbackStatusId, projectId).isEmpty())) {
+            throw new IllegalArgumentException("Fallback status not found in this project");
+        }
 
-        statusRepository.delete(status);
+        if (softDelete) {
+            // Kept until the TTL index purges it, hidden from every query meanwhile
+            status.markDeleted(LocalDateTime.now());
+            statusRepository.save(status);
+        } else {
+            statusRepository.delete(status);
+        }
+        return taskReferenceCleanupService.removeStatus(projectId, id, fallbackStatusId);
     }
 
     /**
@@ -113,7 +135,7 @@ public class StatusService {
      * @throws IllegalArgumentException If a status with the same name already exists in the project.
      */
     private void validateStatusNameUniqueness(String name, String projectId) {
-        if (statusRepository.findByNameAndProjectId(name, projectId).isPresent()) {
+        if (statusRepository.findByNameAndProjectIdAndDeletedFalse(name, projectId).isPresent()) {
             throw new IllegalArgumentException("Status name already exists in this project");
         }
     }
@@ -127,7 +149,7 @@ public class StatusService {
      * @throws IllegalArgumentException If a status with the same name already exists in the project.
      */
     private void validateStatusNameUniqueness(String name, String projectId, String excludeId) {
-        statusRepository.findByNameAndProjectId(name, projectId)
+        statusRepository.findByNameAndProjectIdAndDeletedFalse(name, projectId)
                 .ifPresent(status -> {
                     if (!status.getId().equals(excludeId)) {
                         throw new IllegalArgumentException("Status name already exists in this project");
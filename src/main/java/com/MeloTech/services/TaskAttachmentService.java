@@ -0,0 +1,267 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.AttachmentDto;
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.exceptions.AttachmentTooLargeException;
+import com.MeloTech.exceptions.TaskNotFoundException;
+import com.MeloTech.repositories.TaskRepository;
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Stores task attachments in GridFS. The task only keeps the IDs of its files.
+ * <p>
+ * Uploads are streamed from the request body into GridFS chunk by chunk, so no file is ever held in memory; the
+ * size limit is checked against Content-Length up front and enforced while streaming for bodies without one.
+ * Downloads stream from GridFS, skipping straight to the chunk a range starts in.
+ */
+@Service
+public class TaskAttachmentService {
+    private static final String FILES_COLLECTION = "fs.files";
+
+    private final GridFsTemplate gridFsTemplate;
+    private final MongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final long maxSize;
+    private final Duration deletedRetention;
+
+    public TaskAttachmentService(GridFsTemplate gridFsTemplate, MongoTemplate mongoTemplate, TaskRepository taskRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${tasks.attachments.max-size:25MB}") DataSize maxSize,
+                                 @Value("${tasks.attachments.deleted-retention:30d}") Duration deletedRetention) {
+        this.gridFsTemplate = gridFsTemplate;
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxSize = maxSize.toBytes();
+        this.deletedRetention = deletedRetention;
+    }
+
+    /**
+     * Stores an uploaded file and attaches it to a task.
+     *
+     * @param projectId     The ID of the project.
+     * @param taskId        The ID of the task.
+     * @param uploaderId    The ID of the uploading user.
+     * @param filename      The name of the file.
+     * @param contentType   The media type of the file.
+     * @param contentLength The declared length of the body, or -1 if unknown.
+     * @param body          The file content, read once.
+     * @return The stored attachment.
+     * @throws TaskNotFoundException        If the task is not found.
+     * @throws IllegalArgumentException     If the filename is missing.
+     * @throws AttachmentTooLargeException If the file exceeds the size limit.
+     */
+    public AttachmentDto upload(String projectId, String taskId, String uploaderId, String filename, String contentType,
+                                long contentLength, InputStream body) {
+        if (filename == null || filename.isBlank()) {
+            throw new IllegalArgumentException("filename is required");
+        }
+        if (contentLength > maxSize) {
+            throw new AttachmentTooLargeException("Attachments are limited to " + maxSize + " bytes");
+        }
+        if (taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId).isEmpty()) {
+            throw new TaskNotFoundException("Task not found in this project");
+        }
+
+        Document metadata = new Document("taskId", taskId).append("projectId", projectId).append("uploaderId", uploaderId);
+        LimitedInputStream limited = new LimitedInputStream(body, maxSize);
+        ObjectId fileId;
+        try {
+            fileId = gridFsTemplate.store(limited, filename, contentType, metadata);
+        } catch (RuntimeException e) {
+            // GridFS drops the chunks written so far when reading the body fails
+            if (limited.exceeded) {
+                throw new AttachmentTooLargeException("Attachments are limited to " + maxSize + " bytes");
+            }
+            throw e;
+        }
+
+        Query task = new Query(Criteria.where("id").is(taskId).and("projectId").is(projectId).and("deleted").is(false));
+        Update attach = new Update().push("attachmentIds", fileId.toHexString()).set("lastUpdateTime", LocalDateTime.now());
+        if (mongoTemplate.updateFirst(task, attach, Task.class).getMatchedCount() == 0) {
+            // Deleted while uploading
+            gridFsTemplate.delete(byId(fileId));
+            throw new TaskNotFoundException("Task not found in this project");
+        }
+        taskRepository.findById(taskId).ifPresent(updated -> eventPublisher.publishEvent(TaskChangedEvent.updated(updated)));
+        return toDto(gridFsTemplate.findOne(byId(fileId)));
+    }
+
+    /**
+     * Lists the attachments of a task.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @return The attachments' metadata.
+     * @throws RuntimeException If the task is not found.
+     */
+    public List<AttachmentDto> getAttachments(String projectId, String taskId) {
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
+                .orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        if (task.getAttachmentIds() == null || task.getAttachmentIds().isEmpty()) {
+            return List.of();
+        }
+        List<ObjectId> ids = task.getAttachmentIds().stream().map(ObjectId::new).toList();
+        List<AttachmentDto> attachments = new ArrayList<>();
+        gridFsTemplate.find(new Query(Criteria.where("_id").in(ids))).forEach(file -> attachments.add(toDto(file)));
+        return attachments;
+    }
+
+    /**
+     * Finds an attachment of a task.
+     *
+     * @param projectId    The ID of the project.
+     * @param taskId       The ID of the task.
+     * @param attachmentId The ID of the attachment.
+     * @return The GridFS file.
+     * @throws RuntimeException If the task or attachment is not found.
+     */
+    public GridFSFile getAttachmentFile(String projectId, String taskId, String attachmentId) {
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
+                .orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        if (task.getAttachmentIds() == null || !task.getAttachmentIds().contains(attachmentId)) {
+            throw new RuntimeException("Attachment not found");
+        }
+        GridFSFile file = gridFsTemplate.findOne(byId(new ObjectId(attachmentId)));
+        if (file == null) {
+            throw new RuntimeException("Attachment not found");
+        }
+        return file;
+    }
+
+    /**
+     * Opens the content of an attachment. Skipping on the stream jumps straight to the chunk holding the target.
+     *
+     * @param file The GridFS file.
+     * @return The content stream; the caller closes it.
+     * @throws IOException If the stream can't be opened.
+     */
+    public InputStream openStream(GridFSFile file) throws IOException {
+        return gridFsTemplate.getResource(file).getInputStream();
+    }
+
+    /**
+     * Removes an attachment from a task and deletes the file.
+     *
+     * @param projectId    The ID of the project.
+     * @param taskId       The ID of the task.
+     * @param attachmentId The ID of the attachment.
+     * @throws RuntimeException If the task or attachment is not found.
+     */
+    public void deleteAttachment(String projectId, String taskId, String attachmentId) {
+        Query task = new Query(Criteria.where("id").is(taskId).and("projectId").is(projectId).and("deleted").is(false)
+                .and("attachmentIds").is(attachmentId));
+        Update detach = new Update().pull("attachmentIds", attachmentId).set("lastUpdateTime", LocalDateTime.now());
+        if (mongoTemplate.updateFirst(task, detach, Task.class).getMatchedCount() == 0) {
+            throw new RuntimeException("Attachment not found");
+        }
+        gridFsTemplate.delete(byId(new ObjectId(attachmentId)));
+        taskRepository.findById(taskId).ifPresent(updated -> eventPublisher.publishEvent(TaskChangedEvent.updated(updated)));
+    }
+
+    /**
+     * Deletes a deleted task's files: right away, or after the retention period when the task was soft-deleted.
+     *
+     * @param task       The deleted task.
+     * @param softDelete Whether the task was soft-deleted.
+     */
+    public void onTaskDeleted(Task task, boolean softDelete) {
+        if (task.getAttachmentIds() == null || task.getAttachmentIds().isEmpty()) {
+            return;
+        }
+        Query files = new Query(Criteria.where("_id").in(task.getAttachmentIds().stream().map(ObjectId::new).toList()));
+        if (softDelete) {
+            mongoTemplate.updateMulti(files, new Update().set("metadata.deletedAt", new Date()), FILES_COLLECTION);
+        } else {
+            gridFsTemplate.delete(files);
+        }
+    }
+
+    /**
+     * Deletes the files of soft-deleted tasks once their retention period is over, as the TTL index does for tasks.
+     */
+    @Scheduled(fixedDelayString = "${tasks.attachments.purge-interval:PT6H}")
+    public void purgeDeletedAttachments() {
+        Date cutoff = Date.from(LocalDateTime.now().minus(deletedRetention).atZone(ZoneId.systemDefault()).toInstant());
+        gridFsTemplate.delete(new Query(Criteria.where("metadata.deletedAt").lt(cutoff)));
+    }
+
+    private static Query byId(ObjectId id) {
+        return new Query(Criteria.where("_id").is(id));
+    }
+
+    private static AttachmentDto toDto(GridFSFile file) {
+        Document metadata = file.getMetadata() == null ? new Document() : file.getMetadata();
+        return new AttachmentDto(
+                file.getObjectId().toHexString(),
+                file.getFilename(),
+                metadata.getString("_contentType"), // where GridFsTemplate keeps the content type
+                file.getLength(),
+                LocalDateTime.ofInstant(file.getUploadDate().toInstant(), ZoneId.systemDefault()),
+                metadata.getString("uploaderId"));
+    }
+
+    /**
+     * Fails the read once more than the limit has been read.
+     */
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long limit;
+        private long read;
+        private boolean exceeded;
+
+        private LimitedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                count(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                count(n);
+            }
+            return n;
+        }
+
+        private void count(int n) throws IOException {
+            read += n;
+            if (read > limit) {
+                exceeded = true;
+                throw new IOException("Attachment exceeds " + limit + " bytes");
+            }
+        }
+    }
+}
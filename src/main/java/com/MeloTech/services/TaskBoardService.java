@@ -0,0 +1,133 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.BoardColumnDto;
+import com.MeloTech.entities.Status;
+import com.MeloTech.entities.Task;
+import com.MeloTech.repositories.StatusRepository;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds a project's Kanban board: one column per status, each with its first tasks and its total count.
+ * <p>
+ * Tasks within a column are ordered by rank, then by ID for equal ranks. The first page of every column and all
+ * counts come from a single aggregation; further pages of one column are fetched with a cursor holding the rank
+ * and ID of its last task.
+ */
+@Service
+public class TaskBoardService {
+    private final MongoTemplate mongoTemplate;
+    private final StatusRepository statusRepository;
+    private final int maxColumnSize;
+
+    public TaskBoardService(MongoTemplate mongoTemplate, StatusRepository statusRepository,
+                            @Value("${tasks.board.max-column-size:100}") int maxColumnSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.statusRepository = statusRepository;
+        this.maxColumnSize = maxColumnSize;
+    }
+
+    /**
+     * Gets the board of a project.
+     *
+     * @param projectId  The ID of the project.
+     * @param columnSize The number of tasks returned per column.
+     * @return The columns, in the order the project's statuses are stored.
+     * @throws IllegalArgumentException If the column size is out of range.
+     */
+    public List<BoardColumnDto> getBoard(String projectId, int columnSize) {
+        checkColumnSize(columnSize);
+        List<Status> statuses = statusRepository.findByProjectIdAndDeletedFalse(projectId);
+        if (statuses.isEmpty()) {
+            return List.of();
+        }
+
+        // $topN (MongoDB 5.2+) keeps only columnSize tasks per group instead of pushing whole columns
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(Criteria.where("projectId").is(projectId).and("deleted").is(false)
+                        .and("statusId").in(statuses.stream().map(Status::getId).toList())),
+                context -> new Document("$group", new Document("_id", "$statusId")
+                        .append("count", new Document("$sum", 1))
+                        .append("tasks", new Document("$topN", new Document("n", columnSize)
+                                .append("sortBy", new Document("rank", 1).append("_id", 1))
+                                .append("output", "$$ROOT"))))
+        );
+        Map<String, Document> groups = new HashMap<>();
+        for (Document group : mongoTemplate.aggregate(aggregation, Task.class, Document.class)) {
+            groups.put(group.getString("_id"), group);
+        }
+
+        List<BoardColumnDto> columns = new ArrayList<>(statuses.size());
+        for (Status status : statuses) {
+            Document group = groups.get(status.getId());
+            if (group == null) {
+                columns.add(new BoardColumnDto(status, 0L, List.of(), null));
+                continue;
+            }
+            List<Task> tasks = group.getList("tasks", Document.class).stream()
+                    .map(document -> mongoTemplate.getConverter().read(Task.class, document))
+                    .toList();
+            long count = ((Number) group.get("count")).longValue();
+            columns.add(new BoardColumnDto(status, count, tasks, count > tasks.size() ? cursor(tasks) : null));
+        }
+        return columns;
+    }
+
+    /**
+     * Gets the next tasks of one board column.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     * @param after     The cursor returned with the previous page.
+     * @param size      The number of tasks to return.
+     * @return The next page of the column, with a cursor if more tasks follow.
+     * @throws IllegalArgumentException If the status is not in the project, or the cursor or size is invalid.
+     */
+    public BoardColumnDto getColumnPage(String projectId, String statusId, String after, int size) {
+        checkColumnSize(size);
+        // "<rank>:<id>", the rank being empty for tasks not ranked yet
+        int separator = after.lastIndexOf(':');
+        if (separator < 0 || !ObjectId.isValid(after.substring(separator + 1))) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String rank = separator == 0 ? null : after.substring(0, separator);
+        ObjectId id = new ObjectId(after.substring(separator + 1));
+        if (statusRepository.findByIdAndProjectIdAndDeletedFalse(statusId, projectId).isEmpty()) {
+            throw new IllegalArgumentException("Status not found in this project");
+        }
+        Criteria laterRank = rank == null ? Criteria.where("rank").ne(null) : Criteria.where("rank").gt(rank);
+        Query query = new Query(Criteria.where("projectId").is(projectId).and("statusId").is(statusId).and("deleted").is(false)
+                .orOperator(laterRank, Criteria.where("rank").is(rank).and("id").gt(id)))
+                .with(Sort.by(Sort.Order.asc("rank"), Sort.Order.asc("id")))
+                .limit(size + 1);
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+        if (tasks.size() > size) {
+            tasks = tasks.subList(0, size);
+            return new BoardColumnDto(null, null, tasks, cursor(tasks));
+        }
+        return new BoardColumnDto(null, null, tasks, null);
+    }
+
+    private void checkColumnSize(int size) {
+        if (size < 1 || size > maxColumnSize) {
+            throw new IllegalArgumentException("size must be between 1 and " + maxColumnSize);
+        }
+    }
+
+    private static String cursor(List<Task> tasks) {
+        Task last = tasks.get(tasks.size() - 1);
+        return (last.getRank() == null ? "" : last.getRank()) + ":" + last.getId();
+    }
+}
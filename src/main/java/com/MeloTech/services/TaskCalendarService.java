@@ -0,0 +1,93 @@
+package com.MeloTech.services;
+
+import com.MeloTech.caches.TaskIntervalIndex;
+import com.MeloTech.entities.Task;
+import com.MeloTech.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Date-range queries over task start, end and due dates for calendar and Gantt views.
+ * <p>
+ * A task with both a start and an end date is a span; a due date is a single point in time. A task is in a window
+ * when its span overlaps the window or when it is due within it. A task without an end date is considered open.
+ */
+@Service
+public class TaskCalendarService {
+    private static final Sort BY_DUE_DATE = Sort.by(Sort.Order.asc("dueDate"));
+
+    private final TaskRepository taskRepository;
+    private final TaskIntervalIndex taskIntervalIndex;
+    private final Duration maxRange;
+    private final int maxDueSoonDays;
+
+    public TaskCalendarService(TaskRepository taskRepository, TaskIntervalIndex taskIntervalIndex,
+                               @Value("${tasks.calendar.max-range:P366D}") Duration maxRange,
+                               @Value("${tasks.calendar.max-due-soon-days:90}") int maxDueSoonDays) {
+        this.taskRepository = taskRepository;
+        this.taskIntervalIndex = taskIntervalIndex;
+        this.maxRange = maxRange;
+        this.maxDueSoonDays = maxDueSoonDays;
+    }
+
+    /**
+     * Finds the tasks of a project shown in a calendar window.
+     *
+     * @param projectId The ID of the project.
+     * @param from      The start of the window, inclusive.
+     * @param to        The end of the window, inclusive.
+     * @return The tasks whose span overlaps the window or that are due within it.
+     * @throws IllegalArgumentException If the window is reversed or longer than allowed.
+     */
+    public List<Task> getTasksInRange(String projectId, LocalDateTime from, LocalDateTime to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        if (Duration.between(from, to).compareTo(maxRange) > 0) {
+            throw new IllegalArgumentException("The range must not exceed " + maxRange.toDays() + " days");
+        }
+        if (taskIntervalIndex.isEnabled()) {
+            return taskIntervalIndex.findOverlapping(projectId, from, to);
+        }
+        return taskRepository.findOverlapping(projectId, from, to);
+    }
+
+    /**
+     * Finds the open tasks of a project that are past their due date, most overdue first.
+     *
+     * @param projectId        The ID of the project.
+     * @param excludeStatusIds Statuses that count as done, e.g. the project's "Done" column.
+     * @return The overdue tasks.
+     */
+    public List<Task> getOverdueTasks(String projectId, Collection<String> excludeStatusIds) {
+        return taskRepository.findOpenDueBefore(projectId, LocalDateTime.now(), orEmpty(excludeStatusIds), BY_DUE_DATE);
+    }
+
+    /**
+     * Finds the open tasks of a project due within the next days, soonest first.
+     *
+     * @param projectId        The ID of the project.
+     * @param days             The number of days to look ahead.
+     * @param excludeStatusIds Statuses that count as done, e.g. the project's "Done" column.
+     * @return The tasks due soon.
+     * @throws IllegalArgumentException If the number of days is out of range.
+     */
+    public List<Task> getTasksDueSoon(String projectId, int days, Collection<String> excludeStatusIds) {
+        if (days < 1 || days > maxDueSoonDays) {
+            throw new IllegalArgumentException("days must be between 1 and " + maxDueSoonDays);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return taskRepository.findOpenDueBetween(projectId, now, now.plusDays(days), orEmpty(excludeStatusIds), BY_DUE_DATE);
+    }
+
+    private static Collection<String> orEmpty(Collection<String> ids) {
+        return ids == null ? Set.of() : ids;
+    }
+}
@@ -0,0 +1,137 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.CommentPageDto;
+import com.MeloTech.entities.TaskComment;
+import com.MeloTech.entities.TaskCommentBucket;
+import com.MeloTech.repositories.TaskCommentBucketRepository;
+import com.MeloTech.repositories.TaskRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Stores task comments outside the task documents, in buckets of consecutive comments.
+ * <p>
+ * Appending pushes into the task's newest bucket while it has room and starts the next bucket otherwise, so a
+ * comment costs a bucket number lookup and one update in the common case. A page is one bucket, newest first; the cursor is the bucket
+ * number to read before.
+ */
+@Service
+public class TaskCommentService {
+    private static final int MAX_ATTEMPTS = 5;
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final TaskCommentBucketRepository bucketRepository;
+    private final int bucketSize;
+    private final int maxLength;
+
+    public TaskCommentService(MongoTemplate mongoTemplate, TaskRepository taskRepository,
+                              TaskCommentBucketRepository bucketRepository,
+                              @Value("${tasks.comments.bucket-size:50}") int bucketSize,
+                              @Value("${tasks.comments.max-length:10000}") int maxLength) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.bucketRepository = bucketRepository;
+        this.bucketSize = bucketSize;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Adds a comment to a task.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param authorId  The ID of the commenting user.
+     * @param body      The text of the comment.
+     * @return The created comment.
+     * @throws RuntimeException         If the task is not found.
+     * @throws IllegalArgumentException If the comment is empty or too long.
+     */
+    public TaskComment addComment(String projectId, String taskId, String authorId, String body) {
+        if (body == null || body.isBlank()) {
+            throw new IllegalArgumentException("Comment shouldn't be empty");
+        }
+        if (body.length() > maxLength) {
+            throw new IllegalArgumentException("Comments are limited to " + maxLength + " characters");
+        }
+        if (taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId).isEmpty()) {
+            throw new RuntimeException("Task not found in this project");
+        }
+        TaskComment comment = new TaskComment(new ObjectId().toHexString(), authorId, body, LocalDateTime.now());
+
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Optional<Integer> newest = newestSeq(taskId);
+            if (newest.isPresent()) {
+                // Only ever the newest bucket: older ones may have room if the bucket size was raised since
+                Query open = new Query(Criteria.where("taskId").is(taskId).and("seq").is(newest.get()).and("count").lt(bucketSize));
+                Update push = new Update().push("comments", comment).inc("count", 1);
+                if (mongoTemplate.updateFirst(open, push, TaskCommentBucket.class).getMatchedCount() == 1) {
+                    return comment;
+                }
+            }
+            int seq = newest.map(last -> last + 1).orElse(0);
+            try {
+                mongoTemplate.insert(new TaskCommentBucket(taskId, projectId, seq, new ArrayList<>(List.of(comment))));
+                return comment;
+            } catch (DuplicateKeyException e) {
+                // Another comment started this bucket first: push into it instead
+            }
+        }
+        throw new IllegalStateException("Could not add the comment, try again");
+    }
+
+    // Number of the newest bucket of a task, without reading its comments
+    private Optional<Integer> newestSeq(String taskId) {
+        Query newest = new Query(Criteria.where("taskId").is(taskId)).with(Sort.by(Sort.Direction.DESC, "seq")).limit(1);
+        newest.fields().include("seq");
+        return Optional.ofNullable(mongoTemplate.findOne(newest, TaskCommentBucket.class)).map(TaskCommentBucket::getSeq);
+    }
+
+    /**
+     * Gets a page of a task's comments.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task.
+     * @param before    (Optional) The cursor returned with the previous page; null for the newest comments.
+     * @return The comments, newest first, and the cursor of the next page if older comments exist.
+     */
+    public CommentPageDto getComments(String projectId, String taskId, Integer before) {
+        Optional<TaskCommentBucket> bucket = before == null
+                ? bucketRepository.findFirstByTaskIdAndProjectIdAndDeletedAtIsNullOrderBySeqDesc(taskId, projectId)
+                : bucketRepository.findFirstByTaskIdAndProjectIdAndDeletedAtIsNullAndSeqLessThanOrderBySeqDesc(taskId, projectId, before);
+        if (bucket.isEmpty()) {
+            return new CommentPageDto(List.of(), null);
+        }
+        List<TaskComment> comments = new ArrayList<>(bucket.get().getComments());
+        Collections.reverse(comments);
+        return new CommentPageDto(comments, bucket.get().getSeq() > 0 ? bucket.get().getSeq() : null);
+    }
+
+    /**
+     * Removes a deleted task's comments: right away, or when the soft-deleted task is purged.
+     *
+     * @param taskId     The ID of the deleted task.
+     * @param softDelete Whether the task was soft-deleted.
+     */
+    public void onTaskDeleted(String taskId, boolean softDelete) {
+        if (softDelete) {
+            mongoTemplate.updateMulti(new Query(Criteria.where("taskId").is(taskId)),
+                    new Update().set("deletedAt", LocalDateTime.now()), TaskCommentBucket.class);
+        } else {
+            bucketRepository.deleteByTaskId(taskId);
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.entities.TaskDescription;
+import com.MeloTech.repositories.TaskDescriptionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Keeps long task descriptions out of the task documents.
+ * <p>
+ * List views never show descriptions, yet every list query loads them. Descriptions longer than the threshold are
+ * moved to the {@code task_descriptions} collection, deflated when that makes them smaller, and the task is flagged
+ * with {@code descriptionExternal}; only the get-by-id endpoint loads them back.
+ */
+@Service
+public class TaskDescriptionStore {
+    private final MongoTemplate mongoTemplate;
+    private final TaskDescriptionRepository taskDescriptionRepository;
+    private final int threshold;
+    private final boolean compress;
+
+    public TaskDescriptionStore(MongoTemplate mongoTemplate, TaskDescriptionRepository taskDescriptionRepository,
+                                @Value("${tasks.description.external-threshold:4096}") int threshold,
+                                @Value("${tasks.description.compress:true}") boolean compress) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskDescriptionRepository = taskDescriptionRepository;
+        this.threshold = threshold;
+        this.compress = compress;
+    }
+
+    /**
+     * @param description A task description.
+     * @return Whether the description is long enough to be stored outside the task.
+     */
+    public boolean isLarge(String description) {
+        return threshold > 0 && description != null && description.length() > threshold;
+    }
+
+    /**
+     * Sets a task's description, moving it out of the task document when it is long. The task must have its ID
+     * and is saved by the caller.
+     *
+     * @param task        The task.
+     * @param description The new description.
+     */
+    public void setDescription(Task task, String description) {
+        if (isLarge(description)) {
+            taskDescriptionRepository.save(toDocument(task.getId(), task.getProjectId(), description));
+            task.setDescription(null);
+            task.setDescriptionExternal(true);
+        } else {
+            if (task.isDescriptionExternal()) {
+                taskDescriptionRepository.deleteById(task.getId());
+            }
+            task.setDescription(description);
+            task.setDescriptionExternal(false);
+        }
+    }
+
+    /**
+     * Loads a task's description back into it if it is stored outside.
+     *
+     * @param task The task, typically from get-by-id.
+     * @return The same task.
+     */
+    public Task loadDescription(Task task) {
+        if (task.isDescriptionExternal()) {
+            taskDescriptionRepository.findById(task.getId()).ifPresent(stored -> task.setDescription(decode(stored)));
+        }
+        return task;
+    }
+
+    /**
+     * Stores a description for a task that still holds it, without overwriting one stored meanwhile by an edit.
+     * Used by the migration.
+     *
+     * @param taskId      The ID of the task.
+     * @param projectId   The ID of the project.
+     * @param description The description currently in the task document.
+     * @return The stored description, or null if one was already stored.
+     */
+    public TaskDescription insertIfAbsent(String taskId, String projectId, String description) {
+        try {
+            return mongoTemplate.insert(toDocument(taskId, projectId, description));
+        } catch (DuplicateKeyException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Finds the description stored for a task if it is the given one, such as a copy left behind by an interrupted
+     * migration.
+     *
+     * @param taskId      The ID of the task.
+     * @param description The description currently in the task document.
+     * @return The stored description, or null if none is stored or it differs.
+     */
+    public TaskDescription findIfEqual(String taskId, String description) {
+        return taskDescriptionRepository.findById(taskId)
+                .filter(stored -> decode(stored).equals(description))
+                .orElse(null);
+    }
+
+    /**
+     * Removes a description stored by {@link #insertIfAbsent} unless an edit has replaced it since.
+     *
+     * @param stored The stored description.
+     */
+    public void deleteIfUnchanged(TaskDescription stored) {
+        mongoTemplate.remove(new Query(Criteria.where("_id").is(stored.getTaskId()).and("content").is(stored.getContent())),
+                TaskDescription.class);
+    }
+
+    /**
+     * Removes a deleted task's description: right away, or when the soft-deleted task is purged.
+     *
+     * @param task       The deleted task.
+     * @param softDelete Whether the task was soft-deleted.
+     */
+    public void onTaskDeleted(Task task, boolean softDelete) {
+        if (!task.isDescriptionExternal()) {
+            return;
+        }
+        if (softDelete) {
+            mongoTemplate.updateFirst(new Query(Criteria.where("_id").is(task.getId())),
+                    new Update().set("deletedAt", LocalDateTime.now()), TaskDescription.class);
+        } else {
+            taskDescriptionRepository.deleteById(task.getId());
+        }
+    }
+
+    private TaskDescription toDocument(String taskId, String projectId, String description) {
+        byte[] text = description.getBytes(StandardCharsets.UTF_8);
+        if (compress) {
+            byte[] deflated = deflate(text);
+            // Already compact text (or base64 blobs) may not shrink
+            if (deflated.length < text.length) {
+                return new TaskDescription(taskId, projectId, deflated, true);
+            }
+        }
+        return new TaskDescription(taskId, projectId, text, false);
+    }
+
+    private static String decode(TaskDescription stored) {
+        byte[] text = stored.isCompressed() ? inflate(stored.getContent()) : stored.getContent();
+        return new String(text, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] input) {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length * 3);
+            byte[] buffer = new byte[8192];
+            while (!inflater.finished()) {
+                int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated task description");
+                }
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt task description", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.TaskListDto;
+import com.MeloTech.dtos.UserDto;
+import com.MeloTech.entities.Label;
+import com.MeloTech.entities.Status;
+import com.MeloTech.entities.Task;
+import com.MeloTech.repositories.LabelRepository;
+import com.MeloTech.repositories.StatusRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves the statuses, labels and assignees referenced by a task list, so clients can render it from one response.
+ */
+@Service
+public class TaskExpansionService {
+    public static final String STATUS = "status";
+    public static final String LABELS = "labels";
+    public static final String ASSIGNEES = "assignees";
+    private static final Set<String> SUPPORTED = Set.of(STATUS, LABELS, ASSIGNEES);
+
+    private final StatusRepository statusRepository;
+    private final LabelRepository labelRepository;
+    private final UserService userService;
+
+    public TaskExpansionService(StatusRepository statusRepository, LabelRepository labelRepository, UserService userService) {
+        this.statusRepository = statusRepository;
+        this.labelRepository = labelRepository;
+        this.userService = userService;
+    }
+
+    /**
+     * Wraps tasks with the references they use. Each requested type costs one {@code $in} query over the
+     * distinct IDs, however many tasks share them.
+     *
+     * @param tasks  The tasks to expand.
+     * @param expand The reference types to include: status, labels and/or assignees.
+     * @return The tasks with the requested references keyed by ID.
+     * @throws IllegalArgumentException If an unknown reference type is requested.
+     */
+    public TaskListDto expand(List<Task> tasks, Set<String> expand) {
+        for (String type : expand) {
+            if (!SUPPORTED.contains(type)) {
+                throw new IllegalArgumentException("Unknown expand value: " + type);
+            }
+        }
+        // Only references within the tasks' own projects are resolved
+        Set<String> projectIds = tasks.stream().map(Task::getProjectId).collect(Collectors.toSet());
+
+        Map<String, Status> statuses = null;
+        if (expand.contains(STATUS)) {
+            Set<String> ids = tasks.stream().map(Task::getStatusId).filter(Objects::nonNull).collect(Collectors.toSet());
+            statuses = ids.isEmpty() ? Map.of() : byId(statusRepository.findByIdInAndDeletedFalse(ids).stream()
+                    .filter(status -> projectIds.contains(status.getProjectId())).toList(), Status::getId);
+        }
+        Map<String, Label> labels = null;
+        if (expand.contains(LABELS)) {
+            Set<String> ids = collectIds(tasks, Task::getLabelIds);
+            labels = ids.isEmpty() ? Map.of() : byId(labelRepository.findByIdInAndDeletedFalse(ids).stream()
+                    .filter(label -> projectIds.contains(label.getProjectId())).toList(), Label::getId);
+        }
+        Map<String, UserDto> assignees = null;
+        if (expand.contains(ASSIGNEES)) {
+            Set<String> ids = collectIds(tasks, Task::getAssigneeIds);
+            assignees = ids.isEmpty() ? Map.of() : byId(userService.resolveUsers(ids), UserDto::getId);
+        }
+        return new TaskListDto(tasks, statuses, labels, assignees);
+    }
+
+    private static Set<String> collectIds(List<Task> tasks, Function<Task, Collection<String>> references) {
+        Set<String> ids = new HashSet<>();
+        for (Task task : tasks) {
+            Collection<String> taskIds = references.apply(task);
+            if (taskIds != null) {
+                ids.addAll(taskIds);
+            }
+        }
+        return ids;
+    }
+
+    private static <T> Map<String, T> byId(List<T> values, Function<T, String> id) {
+        Map<String, T> result = new LinkedHashMap<>();
+        values.forEach(value -> result.put(id.apply(value), value));
+        return result;
+    }
+}
@@ -0,0 +1,210 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.repositories.TaskRepository;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Maintains the epic, story and subtask hierarchy of tasks.
+ * <p>
+ * Every task stores the IDs of all its ancestors, root first, in an indexed {@code ancestorIds} array, so a whole
+ * subtree is one indexed query and re-parenting a subtree is one update rewriting the start of its paths. Each task
+ * also stores the estimated and actual hours summed over its subtasks; they are kept current with {@code $inc} on
+ * the ancestors whenever hours change or a subtree moves, so rollups are never recomputed by walking the tree.
+ */
+@Service
+public class TaskHierarchyService {
+    private final MongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public TaskHierarchyService(MongoTemplate mongoTemplate, TaskRepository taskRepository,
+                                ApplicationEventPublisher eventPublisher) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Fills in the path and empty rollups of a task about to be created, below its parentId if set.
+     *
+     * @param projectId The ID of the project.
+     * @param task      The new task.
+     * @throws IllegalArgumentException If the parent is not in the project.
+     */
+    public void prepareNew(String projectId, Task task) {
+        task.setSubtreeEstimatedHours(0.0);
+        task.setSubtreeActualHours(0.0);
+        task.setAncestorIds(task.getParentId() == null ? new ArrayList<>() : pathBelow(findParent(projectId, task.getParentId())));
+    }
+
+    /**
+     * Adds the hours of a newly created task to its ancestors.
+     *
+     * @param task The created task.
+     */
+    public void onCreated(Task task) {
+        rollUp(task.getAncestorIds(), hours(task.getEstimatedHours()), hours(task.getActualHours()));
+    }
+
+    /**
+     * Adds the change of a task's own hours to its ancestors.
+     *
+     * @param task           The updated task.
+     * @param estimatedDelta The change of its estimated hours.
+     * @param actualDelta    The change of its actual hours.
+     */
+    public void onHoursChanged(Task task, double estimatedDelta, double actualDelta) {
+        rollUp(task.getAncestorIds(), estimatedDelta, actualDelta);
+    }
+
+    /**
+     * Removes a deleted task from the hierarchy: its hours leave its ancestors' rollups and its subtasks move up to
+     * its parent, keeping their own subtrees.
+     *
+     * @param task The deleted task.
+     */
+    public void onDeleted(Task task) {
+        rollUp(task.getAncestorIds(), -hours(task.getEstimatedHours()), -hours(task.getActualHours()));
+
+        Criteria below = Criteria.where("ancestorIds").is(task.getId()).and("deleted").is(false);
+        List<String> descendantIds = findIds(below);
+        if (descendantIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Direct children first, while the ancestor index still finds them
+        mongoTemplate.updateMulti(new Query(Criteria.where("ancestorIds").is(task.getId()).and("parentId").is(task.getId()).and("deleted").is(false)),
+                new Update().set("parentId", task.getParentId()), Task.class);
+        mongoTemplate.updateMulti(new Query(below), new Update().pull("ancestorIds", task.getId()).set("lastUpdateTime", now), Task.class);
+        publishUpdated(descendantIds);
+    }
+
+    /**
+     * Moves a task and its whole subtree under another parent.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task to move.
+     * @param parentId  (Optional) The ID of the new parent; null to make the task a root.
+     * @return The moved task.
+     * @throws RuntimeException         If the task is not found.
+     * @throws IllegalArgumentException If the parent is not in the project or lies inside the moved subtree.
+     */
+    @Transactional
+    public Task move(String projectId, String taskId, String parentId) {
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
+                .orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        Task parent = parentId == null ? null : findParent(projectId, parentId);
+        // Cycle check: the new parent must not be the task or one of its subtasks
+        if (parent != null && (parent.getId().equals(taskId) || ancestors(parent).contains(taskId))) {
+            throw new IllegalArgumentException("A task can't be moved under itself or one of its subtasks");
+        }
+        final List<String> newPath = parent == null ? List.of() : pathBelow(parent);
+        if (Objects.equals(parentId, task.getParentId())) {
+            return task;
+        }
+
+        List<String> oldPath = ancestors(task);
+        double estimated = hours(task.getEstimatedHours()) + hours(task.getSubtreeEstimatedHours());
+        double actual = hours(task.getActualHours()) + hours(task.getSubtreeActualHours());
+        rollUp(oldPath, -estimated, -actual);
+        rollUp(newPath, estimated, actual);
+
+        // Every path below the task starts with oldPath: swap that prefix for newPath in one update
+        Criteria below = Criteria.where("ancestorIds").is(taskId).and("deleted").is(false);
+        List<String> descendantIds = findIds(below);
+        if (!descendantIds.isEmpty()) {
+            Object now = mongoTemplate.getConverter().convertToMongoType(LocalDateTime.now());
+            Document suffix = new Document("$slice", List.of("$ancestorIds", oldPath.size(), new Document("$size", "$ancestorIds")));
+            mongoTemplate.updateMulti(new Query(below), AggregationUpdate.from(List.of(context -> new Document("$set",
+                    new Document("ancestorIds", new Document("$concatArrays", List.of(newPath, suffix)))
+                            .append("lastUpdateTime", now)))), Task.class);
+            publishUpdated(descendantIds);
+        }
+
+        // Only the hierarchy fields: the task's own rollups may have been incremented since it was read
+        Update reparent = new Update().set("ancestorIds", newPath).set("lastUpdateTime", LocalDateTime.now());
+        if (parentId == null) {
+            reparent.unset("parentId");
+        } else {
+            reparent.set("parentId", parentId);
+        }
+        Task movedTask = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(taskId)), reparent,
+                FindAndModifyOptions.options().returnNew(true), Task.class);
+        eventPublisher.publishEvent(TaskChangedEvent.updated(movedTask));
+        return movedTask;
+    }
+
+    /**
+     * Gets a task and all its subtasks at any depth.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the subtree's root.
+     * @return The root first, then its subtasks; parentId links them into a tree.
+     * @throws RuntimeException If the task is not found.
+     */
+    public List<Task> getSubtree(String projectId, String taskId) {
+        Task root = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
+                .orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        List<Task> subtree = new ArrayList<>();
+        subtree.add(root);
+        subtree.addAll(taskRepository.findByAncestorIdsContainingAndDeletedFalse(taskId));
+        return subtree;
+    }
+
+    private Task findParent(String projectId, String parentId) {
+        return taskRepository.findByIdAndProjectIdAndDeletedFalse(parentId, projectId)
+                .orElseThrow(() -> new IllegalArgumentException("Parent task not found in this project"));
+    }
+
+    private void rollUp(Collection<String> ancestorIds, double estimatedDelta, double actualDelta) {
+        if (ancestorIds == null || ancestorIds.isEmpty() || (estimatedDelta == 0 && actualDelta == 0)) {
+            return;
+        }
+        mongoTemplate.updateMulti(new Query(Criteria.where("id").in(ancestorIds)),
+                new Update().inc("subtreeEstimatedHours", estimatedDelta).inc("subtreeActualHours", actualDelta)
+                        .set("lastUpdateTime", LocalDateTime.now()),
+                Task.class);
+        publishUpdated(ancestorIds);
+    }
+
+    private List<String> findIds(Criteria criteria) {
+        Query query = new Query(criteria);
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Task.class).stream().map(Task::getId).toList();
+    }
+
+    private void publishUpdated(Collection<String> ids) {
+        taskRepository.findAllById(ids).forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+    }
+
+    private static List<String> pathBelow(Task parent) {
+        List<String> path = new ArrayList<>(ancestors(parent));
+        path.add(parent.getId());
+        return path;
+    }
+
+    private static List<String> ancestors(Task task) {
+        return task.getAncestorIds() == null ? List.of() : task.getAncestorIds();
+    }
+
+    private static double hours(Double hours) {
+        return hours == null ? 0 : hours;
+    }
+}
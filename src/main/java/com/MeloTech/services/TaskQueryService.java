@@ -0,0 +1,249 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compiles the task list's filter and sort expressions into MongoDB queries.
+ * <p>
+ * A filter is a list of {@code field:operator:value} clauses joined by {@code ;}, where list values are separated by
+ * {@code |}, e.g. {@code statusId:in:A|B;labelIds:in:X|Y;assigneeIds:eq:me;dueDate:lt:now+7d}. A sort is a single
+ * field, descending when prefixed with {@code -}. Only fields covered by a {@code {projectId, field}} index are
+ * accepted, so no shape can fall back to a collection scan; sorting is only allowed on fields whose index also
+ * provides the order.
+ * <p>
+ * Parsing and validating a query shape (fields, operators, value counts and sort) is done once per distinct shape;
+ * later requests with the same shape only bind their values to the cached plan.
+ */
+@Service
+public class TaskQueryService {
+    private static final String ME = "me";
+    private static final Pattern RELATIVE_TIME = Pattern.compile("now(?:([+-])(\\d+)([mhd]))?");
+
+    private enum FieldType {STRING, STRING_ARRAY, DATE_TIME}
+
+    private enum Operator {
+        EQ("eq"), NE("ne"), IN("in"), NIN("nin"), ALL("all"), LT("lt"), LTE("lte"), GT("gt"), GTE("gte");
+
+        private final String token;
+
+        Operator(String token) {
+            this.token = token;
+        }
+
+        private static Operator of(String token) {
+            for (Operator operator : values()) {
+                if (operator.token.equals(token)) {
+                    return operator;
+                }
+            }
+            throw new IllegalArgumentException("Unknown filter operator: " + token);
+        }
+    }
+
+    private record Field(String name, FieldType type, Set<Operator> operators, boolean sortable) {
+    }
+
+    // Every field here has a {projectId, field} index on the task collection
+    private static final Map<String, Field> FIELDS = Map.of(
+            "statusId", new Field("statusId", FieldType.STRING, Set.of(Operator.EQ, Operator.NE, Operator.IN, Operator.NIN), false),
+            "labelIds", new Field("labelIds", FieldType.STRING_ARRAY, Set.of(Operator.EQ, Operator.NE, Operator.IN, Operator.NIN, Operator.ALL), false),
+            "assigneeIds", new Field("assigneeIds", FieldType.STRING_ARRAY, Set.of(Operator.EQ, Operator.NE, Operator.IN, Operator.NIN, Operator.ALL), false),
+            "title", new Field("title", FieldType.STRING, Set.of(Operator.EQ, Operator.IN), true),
+            "dueDate", new Field("dueDate", FieldType.DATE_TIME, Set.of(Operator.LT, Operator.LTE, Operator.GT, Operator.GTE), true),
+            "lastUpdateTime", new Field("lastUpdateTime", FieldType.DATE_TIME, Set.of(Operator.LT, Operator.LTE, Operator.GT, Operator.GTE), true)
+    );
+
+    private record Clause(Field field, Operator operator, int valueCount) {
+    }
+
+    private record Plan(List<Clause> clauses, Sort sort) {
+    }
+
+    private final Map<String, Plan> plans = new ConcurrentHashMap<>();
+    private final MongoTemplate mongoTemplate;
+    private final int maxClauses;
+    private final int maxValues;
+    private final int maxPlans;
+
+    public TaskQueryService(MongoTemplate mongoTemplate,
+                            @Value("${tasks.query.max-clauses:10}") int maxClauses,
+                            @Value("${tasks.query.max-values:100}") int maxValues,
+                            @Value("${tasks.query.plan-cache-size:256}") int maxPlans) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxClauses = maxClauses;
+        this.maxValues = maxValues;
+        this.maxPlans = maxPlans;
+    }
+
+    /**
+     * Finds the tasks of a project matching a filter expression, in the requested order.
+     *
+     * @param projectId The ID of the project.
+     * @param userId    The ID of the caller, substituted for {@code me}.
+     * @param filter    (Optional) The filter expression.
+     * @param sort      (Optional) The sort expression.
+     * @return The matching tasks.
+     * @throws IllegalArgumentException If the expressions are malformed or use fields or operators that are not allowed.
+     */
+    public List<Task> findTasks(String projectId, String userId, String filter, String sort) {
+        List<String[]> clauses = split(filter);
+        String signature = signature(clauses, sort);
+        Plan plan = plans.get(signature);
+        if (plan == null) {
+            plan = compile(clauses, sort);
+            if (plans.size() >= maxPlans) {
+                // Shapes come from a handful of client screens; a full cache means junk input, start over
+                plans.clear();
+            }
+            plans.put(signature, plan);
+        }
+
+        List<Criteria> criteria = new ArrayList<>();
+        criteria.add(Criteria.where("projectId").is(projectId));
+        criteria.add(Criteria.where("deleted").is(false));
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < plan.clauses().size(); i++) {
+            criteria.add(bind(plan.clauses().get(i), values(clauses.get(i)), userId, now));
+        }
+        Query query = new Query(new Criteria().andOperator(criteria));
+        if (plan.sort() != null) {
+            query.with(plan.sort());
+        }
+        return mongoTemplate.find(query, Task.class);
+    }
+
+    private List<String[]> split(String filter) {
+        List<String[]> clauses = new ArrayList<>();
+        if (filter == null || filter.isBlank()) {
+            return clauses;
+        }
+        for (String clause : filter.split(";")) {
+            String[] parts = clause.trim().split(":", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Filter clauses must look like field:operator:value, got: " + clause);
+            }
+            clauses.add(parts);
+        }
+        return clauses;
+    }
+
+    private String[] values(String[] clause) {
+        return clause[2].split("\\|");
+    }
+
+    private String signature(List<String[]> clauses, String sort) {
+        StringBuilder signature = new StringBuilder();
+        for (String[] clause : clauses) {
+            signature.append(clause[0]).append(':').append(clause[1]).append('#').append(values(clause).length).append(';');
+        }
+        return signature.append('|').append(sort == null ? "" : sort.trim()).toString();
+    }
+
+    private Plan compile(List<String[]> rawClauses, String sort) {
+        if (rawClauses.size() > maxClauses) {
+            throw new IllegalArgumentException("At most " + maxClauses + " filter clauses are allowed");
+        }
+        List<Clause> clauses = new ArrayList<>();
+        for (String[] raw : rawClauses) {
+            Field field = FIELDS.get(raw[0]);
+            if (field == null) {
+                throw new IllegalArgumentException("Filtering on " + raw[0] + " is not supported");
+            }
+            Operator operator = Operator.of(raw[1]);
+            if (!field.operators().contains(operator)) {
+                throw new IllegalArgumentException("Operator " + raw[1] + " is not supported on " + raw[0]);
+            }
+            int valueCount = values(raw).length;
+            boolean multiValue = operator == Operator.IN || operator == Operator.NIN || operator == Operator.ALL;
+            if (!multiValue && valueCount != 1) {
+                throw new IllegalArgumentException("Operator " + raw[1] + " takes exactly one value");
+            }
+            if (valueCount > maxValues) {
+                throw new IllegalArgumentException("At most " + maxValues + " values are allowed per clause");
+            }
+            clauses.add(new Clause(field, operator, valueCount));
+        }
+        return new Plan(clauses, compileSort(sort));
+    }
+
+    private Sort compileSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return null;
+        }
+        List<Sort.Order> orders = new ArrayList<>();
+        for (String token : sort.split(",")) {
+            String name = token.trim();
+            boolean descending = name.startsWith("-");
+            if (descending) {
+                name = name.substring(1);
+            }
+            Field field = FIELDS.get(name);
+            if (field == null || !field.sortable()) {
+                throw new IllegalArgumentException("Sorting by " + name + " is not supported");
+            }
+            orders.add(descending ? Sort.Order.desc(name) : Sort.Order.asc(name));
+        }
+        if (orders.size() > 1) {
+            // Only a single {projectId, field} index can provide the order, more keys would sort in memory
+            throw new IllegalArgumentException("Only one sort field is supported");
+        }
+        return Sort.by(orders);
+    }
+
+    private Criteria bind(Clause clause, String[] rawValues, String userId, LocalDateTime now) {
+        Object[] values = Arrays.stream(rawValues).map(value -> convert(clause.field(), value, userId, now)).toArray();
+        Criteria criteria = Criteria.where(clause.field().name());
+        return switch (clause.operator()) {
+            case EQ -> criteria.is(values[0]);
+            case NE -> criteria.ne(values[0]);
+            case IN -> criteria.in(values);
+            case NIN -> criteria.nin(values);
+            case ALL -> criteria.all(values);
+            case LT -> criteria.lt(values[0]);
+            case LTE -> criteria.lte(values[0]);
+            case GT -> criteria.gt(values[0]);
+            case GTE -> criteria.gte(values[0]);
+        };
+    }
+
+    private Object convert(Field field, String value, String userId, LocalDateTime now) {
+        if (field.type() != FieldType.DATE_TIME) {
+            return ME.equals(value) && field.name().equals("assigneeIds") ? userId : value;
+        }
+        Matcher relative = RELATIVE_TIME.matcher(value);
+        if (relative.matches()) {
+            if (relative.group(1) == null) {
+                return now;
+            }
+            Duration offset = switch (relative.group(3)) {
+                case "m" -> Duration.ofMinutes(Long.parseLong(relative.group(2)));
+                case "h" -> Duration.ofHours(Long.parseLong(relative.group(2)));
+                default -> Duration.ofDays(Long.parseLong(relative.group(2)));
+            };
+            return relative.group(1).equals("+") ? now.plus(offset) : now.minus(offset);
+        }
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date for " + field.name() + ": " + value);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.repositories.TaskRepository;
+import com.MeloTech.utils.LexoRank;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Re-spaces the ranks of board columns whose ranks grew too long from repeated inserts at the same spot, or that
+ * hold tasks from before ranks existed.
+ * <p>
+ * The column keeps its order while it is rewritten: tasks whose rank goes down are updated first to last, then
+ * tasks whose rank goes up last to first, so no task ever passes a neighbour. Each update only applies if the task
+ * still has the rank it was read with; a task moved meanwhile keeps the rank its move gave it, and the column is
+ * scheduled again. Tasks sharing a rank, which concurrent appends can cause, are told apart by ID and get
+ * distinct ranks.
+ */
+@Component
+public class TaskRankRebalancer {
+    private final Set<Column> pending = ConcurrentHashMap.newKeySet();
+    private final MongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int maxLength;
+    private final int batchSize;
+
+    public TaskRankRebalancer(MongoTemplate mongoTemplate, TaskRepository taskRepository,
+                              ApplicationEventPublisher eventPublisher,
+                              @Value("${tasks.rank.max-length:12}") int maxLength,
+                              @Value("${tasks.rank.rebalance-batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.maxLength = maxLength;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Schedules a column for rebalancing if the given rank is too long.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     * @param rank      A rank just given to a task of the column.
+     */
+    public void checkLength(String projectId, String statusId, String rank) {
+        if (rank.length() > maxLength) {
+            request(projectId, statusId);
+        }
+    }
+
+    /**
+     * Schedules a column for rebalancing.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     */
+    public void request(String projectId, String statusId) {
+        pending.add(new Column(projectId, statusId));
+    }
+
+    /**
+     * Rebalances the scheduled columns.
+     */
+    @Scheduled(fixedDelayString = "${tasks.rank.rebalance-interval:PT1M}")
+    public void rebalancePending() {
+        for (Column column : List.copyOf(pending)) {
+            pending.remove(column);
+            try {
+                rebalance(column.projectId(), column.statusId());
+            } catch (RuntimeException e) {
+                // Try again on the next run
+                pending.add(column);
+            }
+        }
+    }
+
+    /**
+     * Gives the tasks of a column evenly spaced ranks, keeping their order.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     */
+    public void rebalance(String projectId, String statusId) {
+        Query query = new Query(Criteria.where("projectId").is(projectId).and("statusId").is(statusId).and("deleted").is(false))
+                .with(Sort.by(Sort.Order.asc("rank"), Sort.Order.asc("id")));
+        query.fields().include("_id").include("rank");
+        List<Task> tasks = mongoTemplate.find(query, Task.class);
+        List<String> ranks = LexoRank.spread(tasks.size());
+
+        List<Integer> order = new ArrayList<>(tasks.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            if (movesDown(tasks.get(i).getRank(), ranks.get(i))) {
+                order.add(i);
+            }
+        }
+        for (int i = tasks.size() - 1; i >= 0; i--) {
+            if (!movesDown(tasks.get(i).getRank(), ranks.get(i)) && !ranks.get(i).equals(tasks.get(i).getRank())) {
+                order.add(i);
+            }
+        }
+
+        int matched = 0;
+        for (int from = 0; from < order.size(); from += batchSize) {
+            // Ordered, so the updates of a batch apply one after another in the safe order
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Task.class);
+            List<String> ids = new ArrayList<>();
+            LocalDateTime now = LocalDateTime.now();
+            for (int index : order.subList(from, Math.min(from + batchSize, order.size()))) {
+                Task task = tasks.get(index);
+                bulk.updateOne(new Query(Criteria.where("id").is(task.getId()).and("rank").is(task.getRank())),
+                        new Update().set("rank", ranks.get(index)).set("lastUpdateTime", now));
+                ids.add(task.getId());
+            }
+            matched += bulk.execute().getMatchedCount();
+            taskRepository.findAllById(ids).forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+        }
+        if (matched < order.size()) {
+            // A task moved meanwhile got a rank between old-spaced neighbours: re-space again from the current order
+            request(projectId, statusId);
+        }
+    }
+
+    private static boolean movesDown(String oldRank, String newRank) {
+        // A missing rank sorts first, so it can only go up
+        return oldRank != null && newRank.compareTo(oldRank) < 0;
+    }
+
+    private record Column(String projectId, String statusId) {
+    }
+}
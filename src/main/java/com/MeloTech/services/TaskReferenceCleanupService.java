@@ -0,0 +1,123 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.CleanupJobDto;
+import com.MeloTech.entities.Task;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Removes references to deleted statuses and labels from a project's tasks.
+ * <p>
+ * Projects with few affected tasks are cleaned up by one scoped update inside the delete request. Bigger ones are
+ * handed to {@link TaskReferenceCleanupWorker} and rewritten in batches in the background; their progress is kept
+ * here for a while so clients can poll it.
+ */
+@Service
+public class TaskReferenceCleanupService {
+    public static final String LABEL = "LABEL";
+    public static final String STATUS = "STATUS";
+
+    private final Map<String, CleanupJobDto> jobs = new ConcurrentHashMap<>();
+
+    private final MongoTemplate mongoTemplate;
+    private final TaskReferenceCleanupWorker worker;
+    private final int inlineLimit;
+    private final Duration jobRetention;
+
+    public TaskReferenceCleanupService(MongoTemplate mongoTemplate, TaskReferenceCleanupWorker worker,
+                                       @Value("${tasks.cleanup.inline-limit:1000}") int inlineLimit,
+                                       @Value("${tasks.cleanup.job-retention:1h}") Duration jobRetention) {
+        this.mongoTemplate = mongoTemplate;
+        this.worker = worker;
+        this.inlineLimit = inlineLimit;
+        this.jobRetention = jobRetention;
+    }
+
+    /**
+     * Pulls a deleted label from every task of its project.
+     *
+     * @param projectId The ID of the project.
+     * @param labelId   The ID of the deleted label.
+     * @return The cleanup job, already completed unless the project is big.
+     */
+    public CleanupJobDto removeLabel(String projectId, String labelId) {
+        Criteria match = Criteria.where("projectId").is(projectId).and("labelIds").is(labelId).and("deleted").is(false);
+        Update update = new Update().pull("labelIds", labelId);
+        return start(projectId, LABEL, labelId, match, update);
+    }
+
+    /**
+     * Moves the tasks of a deleted status to a fallback status, or clears their status when there is none.
+     *
+     * @param projectId        The ID of the project.
+     * @param statusId         The ID of the deleted status.
+     * @param fallbackStatusId (Optional) The ID of the status to move the tasks to.
+     * @return The cleanup job, already completed unless the project is big.
+     */
+    public CleanupJobDto removeStatus(String projectId, String statusId, String fallbackStatusId) {
+        Criteria match = Criteria.where("projectId").is(projectId).and("statusId").is(statusId).and("deleted").is(false);
+        Update update = fallbackStatusId == null
+                ? new Update().unset("statusId")
+                : new Update().set("statusId", fallbackStatusId);
+        return start(projectId, STATUS, statusId, match, update);
+    }
+
+    /**
+     * Gets the progress of a cleanup job.
+     *
+     * @param projectId The ID of the project.
+     * @param jobId     The ID of the job.
+     * @return An optional containing the job if it is known and belongs to the project.
+     */
+    public Optional<CleanupJobDto> getJob(String projectId, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getProjectId().equals(projectId));
+    }
+
+    /**
+     * Forgets finished jobs once their retention has passed.
+     */
+    @Scheduled(fixedDelayString = "${tasks.cleanup.job-sweep:PT5M}")
+    public void evictFinishedJobs() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.getFinishedAt() != null && job.getFinishedAt().isBefore(cutoff));
+    }
+
+    private CleanupJobDto start(String projectId, String referenceType, String referenceId, Criteria match, Update update) {
+        // Reading one more ID than the inline limit tells small cleanups from big ones without counting
+        Query probe = new Query(match).limit(inlineLimit + 1);
+        probe.fields().include("_id");
+        List<String> ids = worker.findIds(probe);
+
+        String jobId = new ObjectId().toHexString();
+        if (ids.size() <= inlineLimit) {
+            CleanupJobDto job = new CleanupJobDto(jobId, projectId, referenceType, referenceId, ids.size());
+            if (!ids.isEmpty()) {
+                update.set("lastUpdateTime", LocalDateTime.now());
+                mongoTemplate.updateMulti(new Query(match), update, Task.class);
+                worker.publishUpdated(ids);
+                job.addProcessed(ids.size());
+            }
+            job.complete();
+            return job;
+        }
+
+        CleanupJobDto job = new CleanupJobDto(jobId, projectId, referenceType, referenceId,
+                mongoTemplate.count(new Query(match), Task.class));
+        jobs.put(jobId, job);
+        worker.run(job, match, update);
+        return job;
+    }
+}
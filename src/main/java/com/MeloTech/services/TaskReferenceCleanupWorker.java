@@ -0,0 +1,88 @@
+package com.MeloTech.services;
+
+import com.MeloTech.dtos.CleanupJobDto;
+import com.MeloTech.entities.Task;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.repositories.TaskRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Rewrites task references in batches for {@link TaskReferenceCleanupService} when a project is too big to clean
+ * up within the delete request.
+ */
+@Component
+public class TaskReferenceCleanupWorker {
+    private final MongoTemplate mongoTemplate;
+    private final TaskRepository taskRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+
+    public TaskReferenceCleanupWorker(MongoTemplate mongoTemplate, TaskRepository taskRepository,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${tasks.cleanup.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.taskRepository = taskRepository;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Applies the update to every task matching the reference, one batch of IDs at a time.
+     * The update must make a task stop matching, otherwise the job never ends.
+     *
+     * @param job    The job to report progress to.
+     * @param match  The tasks still holding the reference.
+     * @param update The update removing or replacing the reference; lastUpdateTime is set on each batch.
+     */
+    @Async
+    public void run(CleanupJobDto job, Criteria match, Update update) {
+        try {
+            Query batchQuery = new Query(match).limit(batchSize);
+            batchQuery.fields().include("_id");
+
+            List<String> ids = findIds(batchQuery);
+            while (!ids.isEmpty()) {
+                // Re-check the reference so a task edited since the batch was read is not overwritten
+                Criteria batch = new Criteria().andOperator(match, Criteria.where("_id").in(ids));
+                // Stamped per batch: a time taken when the job started would fall behind clients' sync watermarks
+                update.set("lastUpdateTime", LocalDateTime.now());
+                mongoTemplate.updateMulti(new Query(batch), update, Task.class);
+                publishUpdated(ids);
+                job.addProcessed(ids.size());
+                ids = findIds(batchQuery);
+            }
+            job.complete();
+        } catch (RuntimeException e) {
+            job.fail(e.getMessage());
+        }
+    }
+
+    /**
+     * Notifies task change listeners of tasks rewritten by a bulk update.
+     *
+     * @param ids The IDs of the updated tasks.
+     */
+    public void publishUpdated(List<String> ids) {
+        taskRepository.findAllById(ids).forEach(task -> eventPublisher.publishEvent(TaskChangedEvent.updated(task)));
+    }
+
+    /**
+     * Reads the IDs of the tasks matched by an ID-only query.
+     *
+     * @param idQuery The query, projected to {@code _id}.
+     * @return The IDs of the matching tasks.
+     */
+    public List<String> findIds(Query idQuery) {
+        return mongoTemplate.find(idQuery, Task.class).stream().map(Task::getId).toList();
+    }
+}
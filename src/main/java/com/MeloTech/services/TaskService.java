@@ -1,32 +1,87 @@
 package com.MeloTech.services;
 
+import com.MeloTech.caches.TaskFilterIndex;
+import com.MeloTech.dtos.TaskSyncDto;
 import com.MeloTech.entities.Label;
+import com.MeloTech.entities.TaskTombstone;
+import com.MeloTech.events.TaskChangedEvent;
+import com.MeloTech.entities.Project;
 import com.MeloTech.repositories.LabelRepository;
+import com.MeloTech.repositories.ProjectRepository;
 import com.MeloTech.entities.Status;
 import com.MeloTech.repositories.StatusRepository;
 import com.MeloTech.entities.Task;
 import com.MeloTech.repositories.TaskRepository;
+import com.MeloTech.repositories.TaskTombstoneRepository;
+import com.MeloTech.utils.LexoRank;
 import jakarta.validation.constraints.NotNull;
+import org.bson.Document;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class TaskService {
+    private final MongoTemplate mongoTemplate;
     private final TaskRepository taskRepository;
     private final StatusRepository statusRepository;
     private final LabelRepository labelRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final TaskFilterIndex taskFilterIndex;
+    private final TaskRankRebalancer taskRankRebalancer;
+    private final TaskHierarchyService taskHierarchyService;
+    private final TaskCommentService taskCommentService;
+    private final TaskAttachmentService taskAttachmentService;
+    private final TaskDescriptionStore taskDescriptionStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration syncOverlap;
+    private final boolean softDelete;
 
     @Autowired
 
-    public TaskService(TaskRepository taskRepository, LabelRepository labelRepository, StatusRepository statusRepository) {
+    public TaskService(MongoTemplate mongoTemplate, TaskRepository taskRepository, LabelRepository labelRepository, StatusRepository statusRepository,
+                       ProjectRepository projectRepository,
+                       TaskTombstoneRepository taskTombstoneRepository, TaskFilterIndex taskFilterIndex,
+                       TaskRankRebalancer taskRankRebalancer, TaskHierarchyService taskHierarchyService,
+                       TaskCommentService taskCommentService, TaskAttachmentService taskAttachmentService,
+                       TaskDescriptionStore taskDescriptionStore,
+                       ApplicationEventPublisher eventPublisher,
+                       @Value("${tasks.sync.overlap:5s}") Duration syncOverlap,
+                       @Value("${deletion.mode:soft}") String deletionMode) {
+        this.mongoTemplate = mongoTemplate;
         this.taskRepository = taskRepository;
         this.labelRepository = labelRepository;
         this.statusRepository = statusRepository;
+        this.projectRepository = projectRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.taskFilterIndex = taskFilterIndex;
+        this.taskRankRebalancer = taskRankRebalancer;
+        this.taskHierarchyService = taskHierarchyService;
+        this.taskCommentService = taskCommentService;
+        this.taskAttachmentService = taskAttachmentService;
+        this.taskDescriptionStore = taskDescriptionStore;
+        this.eventPublisher = eventPublisher;
+        this.syncOverlap = syncOverlap;
+        this.softDelete = "soft".equals(deletionMode);
     }
 
     /**
@@ -37,13 +92,24 @@ public class TaskService {
      * @return The created task.
      */
     public Task createTask(String projectId, Task task) {
-        if (taskRepository.findByTitleAndProjectId(task.getTitle(), projectId).isPresent()) {
+        if (taskRepository.findByTitleAndProjectIdAndDeletedFalse(task.getTitle(), projectId).isPresent()) {
             throw new IllegalArgumentException("Task name already exit");
         }
         task.setCreateDate(LocalDateTime.now()); // Set creation timestamp
         task.setLastUpdateTime(LocalDateTime.now()); // Set last update timestamp
         task.setProjectId(projectId);
-        return taskRepository.save(task);
+        task.setRank(rankAtEnd(projectId, task.getStatusId())); // new cards go to the bottom of their column
+        taskHierarchyService.prepareNew(projectId, task);
+        task.setAttachmentIds(new ArrayList<>()); // only added through the attachment endpoints
+        // Never the client's: a long description is stored under the task's ID before it is saved, and would
+        // replace or delete the one of the task owning that ID
+        task.setId(new ObjectId().toHexString());
+        task.setDescriptionExternal(false);
+        taskDescriptionStore.setDescription(task, task.getDescription());
+        Task createdTask = taskRepository.save(task);
+        taskHierarchyService.onCreated(createdTask);
+        eventPublisher.publishEvent(TaskChangedEvent.created(createdTask));
+        return createdTask;
     }
 
     /**
@@ -53,7 +119,28 @@ public class TaskService {
      * @return A list of tasks in the project.
      */
     public List<Task> getTasksByProjectId(String projectId) {
-        return taskRepository.findByProjectId(projectId);
+        return taskRepository.findByProjectIdAndDeletedFalse(projectId);
+    }
+
+    /**
+     * Gets the tasks assigned to a user across every project they own or belong to, soonest due first.
+     *
+     * @param userId The ID of the user.
+     * @param page   The page number, starting at 0.
+     * @param size   The page size.
+     * @return A slice of the user's tasks.
+     */
+    public Slice<Task> getAssignedTasks(String userId, int page, int size) {
+        List<String> projectIds = projectRepository.findIdsByOwnerUserIdOrTeamMemberIdsContains(userId).stream()
+                .map(Project::getId)
+                .toList();
+        if (projectIds.isEmpty()) {
+            return new SliceImpl<>(List.of(), PageRequest.of(page, size), false);
+        }
+        // Slice instead of Page: no count query over the user's tasks on every page. Ties on dueDate (and the
+        // tasks without one) are ordered by ID, or MongoDB may return them in a different order for each page
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by("dueDate", "id"));
+        return taskRepository.findAssignedInProjects(userId, projectIds, pageRequest);
     }
 
     /**
@@ -64,7 +151,33 @@ public class TaskService {
      * @return Optional Task if found and it belong to the project
      */
     public Optional<Task> getTaskByIdAndProjectId(String id, String projectId) {
-        return taskRepository.findByIdAndProjectId(id, projectId).filter((task -> task.getProjectId().equals(projectId)));
+        return taskRepository.findByIdAndProjectIdAndDeletedFalse(id, projectId).filter((task -> task.getProjectId().equals(projectId)))
+                .map(taskDescriptionStore::loadDescription); // lists never load long descriptions
+    }
+
+    /**
+     * Gets the tasks changed and deleted in a project since a client's last sync.
+     * <p>
+     * The window is widened by a small overlap so that writes still in flight when the previous watermark was
+     * taken are not missed; clients apply changes by ID, so the few repeated tasks are harmless.
+     *
+     * @param projectId The ID of the project.
+     * @param since     (Optional) The watermark returned by the previous sync; null for an initial sync.
+     * @return The changed tasks, the IDs of deleted tasks and the watermark for the next sync.
+     */
+    public TaskSyncDto syncTasks(String projectId, LocalDateTime since) {
+        LocalDateTime watermark = LocalDateTime.now();
+        // Tombstones older than the retention window are purged, so deletions before it can't be reported
+        if (since == null || since.isBefore(watermark.minus(TaskTombstone.RETENTION))) {
+            return new TaskSyncDto(taskRepository.findByProjectIdAndDeletedFalse(projectId), List.of(), watermark, true);
+        }
+        LocalDateTime from = since.minus(syncOverlap);
+        List<Task> changed = taskRepository.findByProjectIdAndLastUpdateTimeGreaterThanEqualAndDeletedFalse(projectId, from);
+        List<String> deletedIds = taskTombstoneRepository.findByProjectIdAndDeletedAtGreaterThanEqual(projectId, from)
+                .stream()
+                .map(TaskTombstone::getTaskId)
+                .toList();
+        return new TaskSyncDto(changed, deletedIds, watermark, false);
     }
 
     //====================================filters====================================//
@@ -80,6 +193,18 @@ public class TaskService {
         }
     }
 
+    /**
+     * Gets tasks in a project matching any combination of statuses, labels and assignees, evaluated on the
+     * project's in-memory filter index.
+     *
+     * @param projectId The ID of the project.
+     * @param filter    The statuses, labels and assignees to require or exclude.
+     * @return The matching tasks.
+     */
+    public List<Task> getTasksMatching(String projectId, TaskFilterIndex.Filter filter) {
+        return taskFilterIndex.filter(projectId, filter);
+    }
+
     /**
      * Gets tasks in a project filtered by status.
      *
@@ -88,7 +213,7 @@ public class TaskService {
      * @return A list of tasks with the specified status.
      */
     public List<Task> getTasksByProjectIdAndStatusId(String projectId, String statusId) {
-        return taskRepository.findByProjectIdAndStatusId(projectId, statusId);
+        return taskRepository.findByProjectIdAndStatusIdAndDeletedFalse(projectId, statusId);
     }
 
     /**
@@ -130,49 +255,64 @@ public class TaskService {
      * @throws IllegalArgumentException If the task does not belong to the project.
      */
     public Task updateTask(String projectId, String taskId, Task taskDetails) {
-        return taskRepository.findById(taskId)
+        return taskRepository.findByIdAndDeletedFalse(taskId)
                 .map(task -> {
                     // Ensure the task belongs to the project
                     if (!task.getProjectId().equals(projectId)) {
                         throw new IllegalArgumentException("Task does not belong to this project");
                     }
+                    Double oldEstimatedHours = task.getEstimatedHours();
+                    Double oldActualHours = task.getActualHours();
 
-                    // Update task fields only if they are not null
+                    // Update task fields only if they are not null, and write only those
+                    List<String> changedFields = new ArrayList<>();
                     if (taskDetails.getTitle() != null) {
                         task.setTitle(taskDetails.getTitle());
+                        changedFields.add("title");
                     }
                     if (taskDetails.getDescription() != null) {
-                        task.setDescription(taskDetails.getDescription());
+                        taskDescriptionStore.setDescription(task, taskDetails.getDescription());
+                        changedFields.addAll(List.of("description", "descriptionExternal"));
                     }
                     if (taskDetails.getLabelIds() != null) {
                         task.setLabelIds(taskDetails.getLabelIds());
+                        changedFields.add("labelIds");
                     }
-                    if (taskDetails.getStatusId() != null) {
+                    if (taskDetails.getStatusId() != null && !taskDetails.getStatusId().equals(task.getStatusId())) {
                         task.setStatusId(taskDetails.getStatusId());
+                        task.setRank(rankAtEnd(projectId, task.getStatusId()));
+                        changedFields.addAll(List.of("statusId", "rank"));
                     }
                     if (taskDetails.getDependencyIds() != null) {
                         task.setDependencyIds(taskDetails.getDependencyIds());
+                        changedFields.add("dependencyIds");
                     }
                     if (taskDetails.getDueDate() != null) {
                         task.setDueDate(taskDetails.getDueDate());
+                        changedFields.add("dueDate");
                     }
                     if (taskDetails.getStartDate() != null) {
                         task.setStartDate(taskDetails.getStartDate());
+                        changedFields.add("startDate");
                     }
                     if (taskDetails.getEndDate() != null) {
                         task.setEndDate(taskDetails.getEndDate());
+                        changedFields.add("endDate");
                     }
                     if (taskDetails.getEstimatedHours() != null) {
                         task.setEstimatedHours(taskDetails.getEstimatedHours());
+                        changedFields.add("estimatedHours");
                     }
                     if (taskDetails.getActualHours() != null) {
                         task.setActualHours(taskDetails.getActualHours());
+                        changedFields.add("actualHours");
                     }
 
-                    // Update the last update timestamp
-                    task.setLastUpdateTime(LocalDateTime.now());
-
-                    return taskRepository.save(task);
+                    Task updatedTask = saveUpdated(task, changedFields.toArray(String[]::new));
+                    taskHierarchyService.onHoursChanged(updatedTask,
+                            hours(updatedTask.getEstimatedHours()) - hours(oldEstimatedHours),
+                            hours(updatedTask.getActualHours()) - hours(oldActualHours));
+                    return updatedTask;
                 })
                 .orElseThrow(() -> new RuntimeException("Task not found"));
     }
@@ -188,16 +328,17 @@ public class TaskService {
      */
     public Task updateTaskStatus(String projectId, String taskId, String statusId) {
         // Find the task and ensure it belongs to the project
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
                 .orElseThrow(() -> new RuntimeException("Task not found in this project"));
         if (statusId != null) {
-            Status status = statusRepository.findByIdAndProjectId(statusId, projectId)
+            Status status = statusRepository.findByIdAndProjectIdAndDeletedFalse(statusId, projectId)
                     .orElseThrow(() -> new IllegalArgumentException("Status not found in this project"));
-            task.setStatusId(status.getId());
+            if (!status.getId().equals(task.getStatusId())) {
+                task.setStatusId(status.getId());
+                task.setRank(rankAtEnd(projectId, status.getId()));
+            }
         }
-        // Update the last update timestamp
-        task.setLastUpdateTime(LocalDateTime.now());
-        return taskRepository.save(task);
+        return saveUpdated(task, "statusId", "rank");
     }
 
     /**
@@ -210,17 +351,10 @@ public class TaskService {
      * @throws
      */
     public Task addLabel(@NotNull String projectId, @NotNull String taskId, @NotNull String labelId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId).orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId).orElseThrow(() -> new RuntimeException("Task not found in this project"));
         //validate label
-        Label label = labelRepository.findByIdAndProjectId(labelId, projectId).orElseThrow(() -> new RuntimeException("this Label not found in this project"));
-        //if task was created without labels
-        if (task.getLabelIds() == null) {
-            task.setLabelIds(new ArrayList<>());
-        }
-        if (!task.getLabelIds().contains(labelId)) {
-            task.getLabelIds().add(labelId);
-        }
-        return taskRepository.save(task);
+        Label label = labelRepository.findByIdAndProjectIdAndDeletedFalse(labelId, projectId).orElseThrow(() -> new RuntimeException("this Label not found in this project"));
+        return saveUpdated(task.getId(), new Update().addToSet("labelIds", labelId));
     }
 
     /**
@@ -233,74 +367,87 @@ public class TaskService {
      * @throws
      */
     public Task removeLabel(@NotNull String projectId, @NotNull String taskId, @NotNull String labelId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId).orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId).orElseThrow(() -> new RuntimeException("Task not found in this project"));
         //validate label
-        Label label = labelRepository.findByIdAndProjectId(labelId, projectId).orElseThrow(() -> new RuntimeException("this Label not found in this project"));
-        //if task was created without labels
-        if (task.getLabelIds() == null) {
-            task.setLabelIds(new ArrayList<>());
-        }
-        task.getLabelIds().remove(labelId);
-        return taskRepository.save(task);
+        Label label = labelRepository.findByIdAndProjectIdAndDeletedFalse(labelId, projectId).orElseThrow(() -> new RuntimeException("this Label not found in this project"));
+        return saveUpdated(task.getId(), new Update().pull("labelIds", labelId));
     }
 
     public Task addDependencyToTask(@NotNull String projectId, @NotNull String taskId, @NotNull String dependencyId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
                 .orElseThrow(() -> new RuntimeException("Task not found in this project"));
 
-        Task dependency = taskRepository.findByIdAndProjectId(dependencyId, projectId)
+        Task dependency = taskRepository.findByIdAndProjectIdAndDeletedFalse(dependencyId, projectId)
                 .orElseThrow(() -> new RuntimeException("Dependency task not found in this project"));
 
-        if (task.getDependencyIds() == null) {
-            task.setDependencyIds(new ArrayList<>());
-        }
-        if (!task.getDependencyIds().contains(dependency.getId())) {
-            task.getDependencyIds().add(dependency.getId());
-        }
-        return taskRepository.save(task);
+        return saveUpdated(task.getId(), new Update().addToSet("dependencyIds", dependency.getId()));
     }
 
     public Task removeDependencyfromTask(@NotNull String projectId, @NotNull String taskId, @NotNull String dependencyId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
                 .orElseThrow(() -> new RuntimeException("Task not found in this project"));
 
-        Task dependency = taskRepository.findByIdAndProjectId(dependencyId, projectId)
+        Task dependency = taskRepository.findByIdAndProjectIdAndDeletedFalse(dependencyId, projectId)
                 .orElseThrow(() -> new RuntimeException("Dependency task not found in this project"));
 
-        if (task.getDependencyIds() == null) {
-            task.setDependencyIds(new ArrayList<>());
-        }
-        task.getDependencyIds().remove(dependency.getId());
-
-        return taskRepository.save(task);
+        return saveUpdated(task.getId(), new Update().pull("dependencyIds", dependency.getId()));
     }
     public Task addAssignee(String projectId, String taskId, String assigneeId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
                 .orElseThrow(() -> new RuntimeException("Task not found in this project"));
 
-        if (task.getAssigneeIds() == null) {
-            task.setAssigneeIds(new ArrayList<>());
-        }
+        return saveUpdated(task.getId(), new Update().addToSet("assigneeIds", assigneeId));
+    }
+    public Task removeAssignee(String projectId, String taskId, String assigneeId) {
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
+                .orElseThrow(() -> new RuntimeException("Task not found in this project"));
 
+        return saveUpdated(task.getId(), new Update().pull("assigneeIds", assigneeId));
+    }
 
-        if (!task.getAssigneeIds().contains(assigneeId)) {
-            task.getAssigneeIds().add(assigneeId);
+    /**
+     * Moves a card on the board, into another column and/or next to another card. Only the moved task is written:
+     * it gets a rank between its new neighbours.
+     *
+     * @param projectId The ID of the project.
+     * @param taskId    The ID of the task to move.
+     * @param statusId  (Optional) The ID of the target column's status; the task's current status if null.
+     * @param afterId   (Optional) The ID of the card to place the task right below.
+     * @param beforeId  (Optional) The ID of the card to place the task right above.
+     * @return The moved task. Without afterId or beforeId it goes to the bottom of the column.
+     * @throws RuntimeException         If the task is not found.
+     * @throws IllegalArgumentException If the status or the neighbouring card is not in the target column.
+     */
+    public Task moveTask(String projectId, String taskId, String statusId, String afterId, String beforeId) {
+        if (afterId != null && beforeId != null) {
+            throw new IllegalArgumentException("Pass either afterId or beforeId, not both");
         }
-
-
-        task.setLastUpdateTime(LocalDateTime.now());
-        return taskRepository.save(task);
-    }
-    public Task removeAssignee(String projectId, String taskId, String assigneeId) {
-        Task task = taskRepository.findByIdAndProjectId(taskId, projectId)
+        if (taskId.equals(afterId) || taskId.equals(beforeId)) {
+            throw new IllegalArgumentException("A task can't be placed next to itself");
+        }
+        Task task = taskRepository.findByIdAndProjectIdAndDeletedFalse(taskId, projectId)
                 .orElseThrow(() -> new RuntimeException("Task not found in this project"));
+        String targetStatusId = task.getStatusId();
+        if (statusId != null) {
+            targetStatusId = statusRepository.findByIdAndProjectIdAndDeletedFalse(statusId, projectId)
+                    .orElseThrow(() -> new IllegalArgumentException("Status not found in this project"))
+                    .getId();
+        }
 
-        if (task.getAssigneeIds() != null) {
-            task.getAssigneeIds().remove(assigneeId);
+        String rank;
+        if (afterId != null) {
+            rank = rankNextTo(projectId, targetStatusId, afterId, true);
+        } else if (beforeId != null) {
+            rank = rankNextTo(projectId, targetStatusId, beforeId, false);
+        } else {
+            rank = rankAtEnd(projectId, targetStatusId);
         }
 
-        task.setLastUpdateTime(LocalDateTime.now());
-        return taskRepository.save(task);
+        task.setStatusId(targetStatusId);
+        task.setRank(rank);
+        Task movedTask = saveUpdated(task, "statusId", "rank");
+        taskRankRebalancer.checkLength(projectId, targetStatusId, rank);
+        return movedTask;
     }
     //====================================Updates====================================//
 
@@ -312,21 +459,153 @@ public class TaskService {
      * @param id The ID of the task to delete.
      */
     public void deleteTask(String projectId, String id) {
-        Task deletedTask = taskRepository.findById(id).orElseThrow(() -> new RuntimeException("Task not found"));
+        Task task = taskRepository.findByIdAndDeletedFalse(id).orElseThrow(() -> new RuntimeException("Task not found"));
 
         // Ensure the label belongs to the project
-        if (!deletedTask.getProjectId().equals(projectId)) {
+        if (!task.getProjectId().equals(projectId)) {
             throw new IllegalArgumentException("Task does not belong to this project");
         }
         //all tasks that depend on the deleted task
-        List<Task> dependentTasks = taskRepository.findByDependencyIdsContaining(id);
+        List<Task> dependentTasks = taskRepository.findByDependencyIdsContainingAndDeletedFalse(id);
         //remove task reference for deleted task
-        for (Task task : dependentTasks) {
-            task.getDependencyIds().remove(id);
+        if (!dependentTasks.isEmpty()) {
+            List<String> dependentIds = dependentTasks.stream().map(Task::getId).toList();
+            mongoTemplate.updateMulti(new Query(Criteria.where("id").in(dependentIds)),
+                    new Update().pull("dependencyIds", id).set("lastUpdateTime", LocalDateTime.now()), Task.class);
+            taskRepository.findAllById(dependentIds).forEach(dependent -> eventPublisher.publishEvent(TaskChangedEvent.updated(dependent)));
+        }
+        // Tombstone first: a sync running between the two writes repeats the delete rather than missing it
+        taskTombstoneRepository.save(new TaskTombstone(id, projectId, LocalDateTime.now()));
+        // The cleanup below works from the task as it was when deleted, with attachments added since it was read
+        Query live = new Query(Criteria.where("id").is(id).and("deleted").is(false));
+        Task deletedTask;
+        if (softDelete) {
+            // Kept until the TTL index purges it, hidden from every query meanwhile
+            deletedTask = mongoTemplate.findAndModify(live, new Update().set("deleted", true).set("deletedAt", LocalDateTime.now()), Task.class);
+        } else {
+            deletedTask = mongoTemplate.findAndRemove(live, Task.class);
+        }
+        if (deletedTask == null) {
+            throw new RuntimeException("Task not found");
         }
-        taskRepository.saveAll(dependentTasks);
-        taskRepository.deleteById(id);
+        taskHierarchyService.onDeleted(deletedTask);
+        taskCommentService.onTaskDeleted(id, softDelete);
+        taskAttachmentService.onTaskDeleted(deletedTask, softDelete);
+        taskDescriptionStore.onTaskDeleted(deletedTask, softDelete);
+        eventPublisher.publishEvent(TaskChangedEvent.deleted(projectId, id));
     }
     //====================================Delete====================================//
 
+    private static double hours(Double hours) {
+        return hours == null ? 0 : hours;
+    }
+
+    /**
+     * Gets a rank placing a card at the bottom of a column.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the column's status.
+     * @return A rank after every card of the column.
+     */
+    private String rankAtEnd(String projectId, String statusId) {
+        String last = taskRepository.findFirstByProjectIdAndStatusIdAndDeletedFalseOrderByRankDescIdDesc(projectId, statusId)
+                .map(Task::getRank).orElse(null);
+        String rank = LexoRank.between(last, null);
+        taskRankRebalancer.checkLength(projectId, statusId, rank);
+        return rank;
+    }
+
+    /**
+     * Gets a rank placing a card right below or right above another card of a column. The column is re-spaced
+     * first if it predates ranks, or if the card shares its rank with the neighbour on that side, which concurrent
+     * appends to the column can cause.
+     *
+     * @param projectId The ID of the project.
+     * @param statusId  The ID of the target column's status.
+     * @param anchorId  The ID of the neighbouring card.
+     * @param below     Whether to place the card below the neighbouring card rather than above it.
+     * @return A rank between the neighbouring card and the next card on that side.
+     */
+    private String rankNextTo(String projectId, String statusId, String anchorId, boolean below) {
+        Task anchor = anchor(projectId, statusId, anchorId);
+        String next = nextRank(projectId, statusId, anchor, below);
+        if (anchor.getRank() == null || anchor.getRank().equals(next)) {
+            taskRankRebalancer.rebalance(projectId, statusId);
+            anchor = anchor(projectId, statusId, anchorId);
+            next = nextRank(projectId, statusId, anchor, below);
+        }
+        return below ? LexoRank.between(anchor.getRank(), next) : LexoRank.between(next, anchor.getRank());
+    }
+
+    private Task anchor(String projectId, String statusId, String anchorId) {
+        return taskRepository.findByIdAndProjectIdAndDeletedFalse(anchorId, projectId)
+                .filter(task -> Objects.equals(task.getStatusId(), statusId))
+                .orElseThrow(() -> new IllegalArgumentException("Neighbouring task not found in the target status"));
+    }
+
+    // The rank of the card next to the anchor in (rank, _id) order, the order the board shows
+    private String nextRank(String projectId, String statusId, Task anchor, boolean below) {
+        if (anchor.getRank() == null) {
+            return null;
+        }
+        ObjectId anchorId = new ObjectId(anchor.getId());
+        Criteria column = Criteria.where("projectId").is(projectId).and("statusId").is(statusId).and("deleted").is(false);
+        if (below) {
+            column.orOperator(Criteria.where("rank").gt(anchor.getRank()),
+                    Criteria.where("rank").is(anchor.getRank()).and("id").gt(anchorId));
+        } else {
+            column.orOperator(Criteria.where("rank").lt(anchor.getRank()),
+                    Criteria.where("rank").is(anchor.getRank()).and("id").lt(anchorId));
+        }
+        // findOne with a limit: a single-result repository query fails as soon as more than one card matches
+        Query next = new Query(column)
+                .with(Sort.by(below ? Sort.Direction.ASC : Sort.Direction.DESC, "rank", "id"))
+                .limit(1);
+        next.fields().include("rank");
+        Task neighbour = mongoTemplate.findOne(next, Task.class);
+        return neighbour == null ? null : neighbour.getRank();
+    }
+
+    /**
+     * Writes only the given fields of a modified task and notifies listeners of the change. Subtree rollups are
+     * maintained with {@code $inc} and attachment IDs with {@code $push} by other requests, so saving the whole document from
+     * this copy would undo them.
+     *
+     * @param task   The modified task.
+     * @param fields The names of the modified fields.
+     * @return The task as saved.
+     * @throws RuntimeException If the task was deleted meanwhile.
+     */
+    private Task saveUpdated(Task task, String... fields) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(task, document);
+        Update update = new Update();
+        for (String field : fields) {
+            if (document.get(field) == null) {
+                update.unset(field);
+            } else {
+                update.set(field, document.get(field));
+            }
+        }
+        return saveUpdated(task.getId(), update);
+    }
+
+    /**
+     * Applies an update to a task and notifies listeners of the change.
+     *
+     * @param taskId The ID of the task.
+     * @param update The update.
+     * @return The task as saved.
+     * @throws RuntimeException If the task was deleted meanwhile.
+     */
+    private Task saveUpdated(String taskId, Update update) {
+        update.set("lastUpdateTime", LocalDateTime.now()); // every change must be visible to delta sync
+        Task savedTask = mongoTemplate.findAndModify(new Query(Criteria.where("id").is(taskId).and("deleted").is(false)),
+                update, FindAndModifyOptions.options().returnNew(true), Task.class);
+        if (savedTask == null) {
+            throw new RuntimeException("Task not found");
+        }
+        eventPublisher.publishEvent(TaskChangedEvent.updated(savedTask));
+        return savedTask;
+    }
 }
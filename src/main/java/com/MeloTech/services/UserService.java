@@ -1,85 +1,170 @@
 package com.MeloTech.services;
 
+import com.MeloTech.caches.UserLookupMemo;
+import com.MeloTech.caches.UserPrefixCache;
 import com.MeloTech.dtos.UserDto;
 import com.MeloTech.dtos.UpdateUserDto;
 import com.MeloTech.entities.User;
 import com.MeloTech.exceptions.UserNotFoundException;
 import com.MeloTech.repositories.UserRepository;
 import com.MeloTech.repositories.ProjectRepository;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class UserService {
+    private static final char CURSOR_SEPARATOR = ':'; // usernames may contain it, ObjectIds can't
+    // U+10FFFF: MongoDB compares UTF-8 bytes, where supplementary characters sort above Character.MAX_VALUE
+    private static final String MAX_CODE_POINT = new String(Character.toChars(Character.MAX_CODE_POINT));
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final ProjectRepository projectRepository;
+    private final UserPrefixCache userPrefixCache;
+    private final UserLookupMemo userLookupMemo;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ProjectRepository projectRepository) {
+    @Value("${users.search.max-results:50}")
+    private int maxSearchResults;
+
+    @Value("${users.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, ProjectRepository projectRepository,
+                       UserPrefixCache userPrefixCache, UserLookupMemo userLookupMemo) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.projectRepository = projectRepository;
+        this.userPrefixCache = userPrefixCache;
+        this.userLookupMemo = userLookupMemo;
     }
 
     public Page<UserDto> getAllUsers(Pageable pageable) {
-        return userRepository.findAll(pageable)
-                .map(user -> new UserDto(
-                    user.getId(), 
-                    user.getFirstName(), 
-                    user.getLastName(), 
-                    user.getUsername(), 
-                    user.getEmail()
-                ));
-    }
-
-    public ArrayList<UserDto> getAllUsers() {
-        return userRepository.findAll().stream()
-                .map(user -> new UserDto(
-                    user.getId(), 
-                    user.getFirstName(), 
-                    user.getLastName(), 
-                    user.getUsername(), 
-                    user.getEmail()
-                ))
-                .collect(Collectors.toCollection(ArrayList::new));
+        return userRepository.findAllProjectedBy(pageable);
+    }
+
+    /**
+     * Streams the whole user directory from a MongoDB cursor, so memory use does not grow with the number of users.
+     * The caller must close the stream to release the cursor.
+     * Runs outside any transaction since the cursor outlives this method call.
+     *
+     * @return A stream of all users.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public Stream<UserDto> streamAllUsers() {
+        return userRepository.streamAllBy();
     }
 
     public UserDto getUser(String userId) {
-        return userRepository.findById(userId)
-                .map(user -> new UserDto(
-                    user.getId(), 
-                    user.getFirstName(), 
-                    user.getLastName(), 
-                    user.getUsername(), 
-                    user.getEmail()
-                ))
+        return userRepository.findProjectedById(userId)
                 .orElseThrow(() -> new UserNotFoundException("User not found with ID: " + userId));
     }
 
-    public ArrayList<UserDto> searchUsersWithPrefix(String prefix) {
+    /**
+     * Gets several users in one query, e.g. to render the assignees of a board.
+     *
+     * @param ids The IDs of the users; duplicates are ignored.
+     * @return The users found, in the order of their first ID; unknown IDs are skipped.
+     * @throws IllegalArgumentException If no ID or more than users.batch.max-ids distinct IDs are given.
+     */
+    public List<UserDto> getUsersByIds(Collection<String> ids) {
+        List<String> distinctIds = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinctIds.isEmpty()) {
+            throw new IllegalArgumentException("At least one user ID is required");
+        }
+        if (distinctIds.size() > maxBatchIds) {
+            throw new IllegalArgumentException("At most " + maxBatchIds + " user IDs can be requested at once");
+        }
+        return resolveUsers(distinctIds);
+    }
+
+    /**
+     * Resolves user IDs through the per-request memo, reading only the IDs not seen yet in one projected query.
+     *
+     * @param ids The distinct IDs of the users.
+     * @return The users found, in the order of the IDs; unknown IDs are skipped.
+     */
+    public List<UserDto> resolveUsers(Collection<String> ids) {
+        List<String> missing = userLookupMemo.missing(ids);
+        if (!missing.isEmpty()) {
+            userLookupMemo.remember(missing, userRepository.findProjectedByIdIn(missing));
+        }
+        return ids.stream().map(userLookupMemo::get).flatMap(Optional::stream).toList();
+    }
+
+    public ArrayList<UserDto> searchUsersWithPrefix(String prefix, int limit, String cursor) {
         if (prefix == null || prefix.trim().isEmpty()) {
             throw new IllegalArgumentException("Search prefix cannot be null or empty");
         }
-        
-        return userRepository.findByUsernameStartingWith(prefix.trim()).stream()
-                .map(user -> new UserDto(
-                    user.getId(), 
-                    user.getFirstName(), 
-                    user.getLastName(), 
-                    user.getUsername(), 
-                    user.getEmail()
-                ))
-                .collect(Collectors.toCollection(ArrayList::new));
+        if (limit < 1) {
+            throw new IllegalArgumentException("Search limit must be at least 1");
+        }
+
+        String normalizedPrefix = User.normalizeUsername(prefix.trim());
+        String upperBound = normalizedPrefix + MAX_CODE_POINT;
+        int cappedLimit = Math.min(limit, maxSearchResults);
+
+        if (cursor != null && !cursor.startsWith(normalizedPrefix)) {
+            throw new IllegalArgumentException("Search cursor does not belong to this prefix");
+        }
+
+        // Only first pages are cached, later pages are walked once per scroll
+        if (cursor == null) {
+            List<UserDto> cachedUsers = userPrefixCache.get(normalizedPrefix, cappedLimit);
+            if (cachedUsers != null) {
+                return new ArrayList<>(cachedUsers);
+            }
+        }
+
+        // Anchored range over the lowercase username index, projected straight onto UserDto
+        PageRequest page = PageRequest.of(0, cappedLimit, Sort.by("usernameLowercase", "id"));
+        ArrayList<UserDto> users = new ArrayList<>(cursor == null
+                ? userRepository.findByUsernameLowercaseBetween(normalizedPrefix, upperBound, page)
+                : userRepository.findByUsernameLowercaseAfter(cursorUsername(cursor), cursorId(cursor), upperBound, page));
+
+        if (cursor == null) {
+            userPrefixCache.put(normalizedPrefix, cappedLimit, users);
+        }
+        return users;
+    }
+
+    public String nextSearchCursor(List<UserDto> users, int limit) {
+        if (users.isEmpty() || users.size() < Math.min(limit, maxSearchResults)) {
+            return null;
+        }
+        UserDto last = users.get(users.size() - 1);
+        return User.normalizeUsername(last.getUsername()) + CURSOR_SEPARATOR + last.getId();
+    }
+
+    private static String cursorUsername(String cursor) {
+        int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+        if (separator < 0) {
+            throw new IllegalArgumentException("Malformed search cursor");
+        }
+        return cursor.substring(0, separator);
+    }
+
+    private static ObjectId cursorId(String cursor) {
+        String id = cursor.substring(cursor.lastIndexOf(CURSOR_SEPARATOR) + 1);
+        if (!ObjectId.isValid(id)) {
+            throw new IllegalArgumentException("Malformed search cursor");
+        }
+        return new ObjectId(id);
     }
 
     @Transactional
@@ -88,6 +173,7 @@ public class UserService {
             throw new IllegalArgumentException("User cannot be null");
         }
         userRepository.save(user);
+        userPrefixCache.invalidateAll();
     }
 
     public boolean existsByUsername(String username) {
@@ -173,12 +259,17 @@ public class UserService {
         }
 
         User updatedUser = userRepository.save(user);
+        userPrefixCache.invalidateAll();
+        return toUserDto(updatedUser);
+    }
+
+    private static UserDto toUserDto(User user) {
         return new UserDto(
-            updatedUser.getId(),
-            updatedUser.getFirstName(),
-            updatedUser.getLastName(),
-            updatedUser.getUsername(),
-            updatedUser.getEmail()
+            user.getId(),
+            user.getFirstName(),
+            user.getLastName(),
+            user.getUsername(),
+            user.getEmail()
         );
     }
 }
@@ -0,0 +1,165 @@
+package com.MeloTech.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lexicographic fractional ranks for ordering cards on a board.
+ * <p>
+ * A rank is a base-36 fraction written with the digits {@code 0-9a-z} and never ending in {@code 0}, so plain string
+ * comparison orders ranks and there is always room for another rank between two different ones. Inserting between
+ * two neighbours halves the gap, so ranks grow by about one character every five inserts at the same spot until
+ * they are re-spaced with {@link #spread(int)}.
+ */
+public final class LexoRank {
+    private static final int BASE = 36;
+    private static final String DIGITS = "0123456789abcdefghijklmnopqrstuvwxyz";
+    // Appends and prepends step by a fixed amount at this width instead of halving the open end
+    private static final int WIDTH = 6;
+    private static final long SPACE = pow(WIDTH);
+    private static final long STEP = pow(2);
+
+    private LexoRank() {
+    }
+
+    /**
+     * @return The rank of the first card in an empty column, in the middle of the space.
+     */
+    public static String initial() {
+        return encode(SPACE / 2, WIDTH);
+    }
+
+    /**
+     * Gets a rank between two others.
+     *
+     * @param before (Optional) The rank to sort after; null for the start of the column.
+     * @param after  (Optional) The rank to sort before; null for the end of the column.
+     * @return A rank strictly between the two.
+     * @throws IllegalArgumentException If {@code before} does not sort before {@code after} or a rank is malformed.
+     */
+    public static String between(String before, String after) {
+        check(before);
+        check(after);
+        if (before == null && after == null) {
+            return initial();
+        }
+        if (before != null && after != null && before.compareTo(after) >= 0) {
+            throw new IllegalArgumentException("Rank " + before + " does not sort before " + after);
+        }
+        if (after == null) {
+            String stepped = step(before, STEP);
+            if (stepped != null) {
+                return stepped;
+            }
+        } else if (before == null) {
+            String stepped = step(after, -STEP);
+            if (stepped != null) {
+                return stepped;
+            }
+        }
+        return midpoint(before == null ? "" : before, after);
+    }
+
+    /**
+     * Gets evenly spaced ranks, used to re-space a column whose ranks grew too long.
+     *
+     * @param count The number of ranks.
+     * @return The ranks in ascending order.
+     */
+    public static List<String> spread(int count) {
+        int width = WIDTH;
+        while (width < 12 && pow(width) <= count + 1L) {
+            width++;
+        }
+        long gap = pow(width) / (count + 1L);
+        List<String> ranks = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            ranks.add(encode(gap * i, width));
+        }
+        return ranks;
+    }
+
+    // The midpoint of two digit strings read as fractions, "" being 0 and null being 1
+    private static String midpoint(String low, String high) {
+        if (high != null) {
+            // Copy the common prefix, reading missing digits of low as 0
+            int prefix = 0;
+            while (prefix < high.length() && digitAt(low, prefix) == digit(high.charAt(prefix))) {
+                prefix++;
+            }
+            if (prefix > 0) {
+                return high.substring(0, prefix) + midpoint(low.length() > prefix ? low.substring(prefix) : "", high.substring(prefix));
+            }
+        }
+        int lowDigit = digitAt(low, 0);
+        int highDigit = high == null ? BASE : digit(high.charAt(0));
+        if (highDigit - lowDigit > 1) {
+            return String.valueOf(DIGITS.charAt((lowDigit + highDigit + 1) / 2));
+        }
+        if (high != null && high.length() > 1) {
+            // high's first digit alone sorts between the two
+            return high.substring(0, 1);
+        }
+        return DIGITS.charAt(lowDigit) + midpoint(low.length() > 1 ? low.substring(1) : "", null);
+    }
+
+    /**
+     * @return The rank moved by delta at the fixed width, or null when it is longer than that or out of room.
+     */
+    private static String step(String rank, long delta) {
+        if (rank.length() > WIDTH) {
+            return null;
+        }
+        long value = 0;
+        for (int i = 0; i < WIDTH; i++) {
+            value = value * BASE + digitAt(rank, i);
+        }
+        long stepped = value + delta;
+        return stepped > 0 && stepped < SPACE ? encode(stepped, WIDTH) : null;
+    }
+
+    private static String encode(long value, int width) {
+        char[] digits = new char[width];
+        for (int i = width - 1; i >= 0; i--) {
+            digits[i] = DIGITS.charAt((int) (value % BASE));
+            value /= BASE;
+        }
+        int end = width;
+        while (end > 1 && digits[end - 1] == '0') {
+            end--;
+        }
+        return new String(digits, 0, end);
+    }
+
+    private static void check(String rank) {
+        if (rank == null) {
+            return;
+        }
+        if (rank.isEmpty() || rank.charAt(rank.length() - 1) == '0') {
+            throw new IllegalArgumentException("Malformed rank: " + rank);
+        }
+        for (int i = 0; i < rank.length(); i++) {
+            digit(rank.charAt(i));
+        }
+    }
+
+    private static int digitAt(String digits, int index) {
+        return index < digits.length() ? digit(digits.charAt(index)) : 0;
+    }
+
+    private static int digit(char c) {
+        int digit = DIGITS.indexOf(c);
+        if (digit < 0) {
+            throw new IllegalArgumentException("Malformed rank digit: " + c);
+        }
+        return digit;
+    }
+
+    private static long pow(int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= BASE;
+        }
+        return result;
+    }
+}
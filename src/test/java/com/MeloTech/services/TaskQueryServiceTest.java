@@ -0,0 +1,134 @@
+package com.MeloTech.services;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskQueryServiceTest {
+	// Never connects: queries are captured instead of run
+	private final MongoClient client = MongoClients.create("mongodb://localhost:27017");
+	private final CapturingMongoTemplate mongoTemplate = new CapturingMongoTemplate(client);
+	private final TaskQueryService service = new TaskQueryService(mongoTemplate, 3, 5, 256);
+
+	@AfterEach
+	void closeClient() {
+		client.close();
+	}
+
+	@Test
+	void emptyFilterIsScopedToTheProjectAndLiveTasks() {
+		service.findTasks("p1", "u1", null, null);
+
+		assertEquals("p1", clause("projectId"));
+		assertEquals(false, clause("deleted"));
+		assertEquals(2, clauses().size());
+		assertTrue(mongoTemplate.lastQuery.getSortObject().isEmpty());
+	}
+
+	@Test
+	void compilesListOperatorsAndMe() {
+		service.findTasks("p1", "u1", "statusId:in:A|B;labelIds:all:X|Y;assigneeIds:eq:me", null);
+
+		assertEquals(new Document("$in", List.of("A", "B")), clause("statusId"));
+		assertEquals(new Document("$all", List.of("X", "Y")), clause("labelIds"));
+		assertEquals("u1", clause("assigneeIds"));
+	}
+
+	@Test
+	void meIsOnlySubstitutedForAssignees() {
+		service.findTasks("p1", "u1", "title:eq:me", null);
+
+		assertEquals("me", clause("title"));
+	}
+
+	@Test
+	void compilesRelativeDates() {
+		LocalDateTime before = LocalDateTime.now();
+		service.findTasks("p1", "u1", "dueDate:lt:now+7d", null);
+		LocalDateTime after = LocalDateTime.now();
+
+		LocalDateTime bound = (LocalDateTime) ((Document) clause("dueDate")).get("$lt");
+		assertTrue(!bound.isBefore(before.plusDays(7)) && !bound.isAfter(after.plusDays(7)));
+	}
+
+	@Test
+	void compilesAbsoluteDates() {
+		service.findTasks("p1", "u1", "lastUpdateTime:gte:2024-01-10T09:00:00", null);
+
+		assertEquals(new Document("$gte", LocalDateTime.of(2024, 1, 10, 9, 0)), clause("lastUpdateTime"));
+	}
+
+	@Test
+	void compilesDescendingSort() {
+		service.findTasks("p1", "u1", null, "-dueDate");
+
+		assertEquals(new Document("dueDate", -1), mongoTemplate.lastQuery.getSortObject());
+	}
+
+	@Test
+	void cachedShapesBindNewValues() {
+		service.findTasks("p1", "u1", "statusId:eq:A", null);
+		service.findTasks("p2", "u1", "statusId:eq:B", null);
+
+		assertEquals("p2", clause("projectId"));
+		assertEquals("B", clause("statusId"));
+	}
+
+	@Test
+	void rejectsInvalidExpressions() {
+		assertInvalid("statusId:eq", null); // no value
+		assertInvalid("priority:eq:high", null); // field not allowed
+		assertInvalid("title:ne:x", null); // operator not allowed on the field
+		assertInvalid("statusId:like:x", null); // unknown operator
+		assertInvalid("statusId:eq:A|B", null); // single-value operator
+		assertInvalid("statusId:in:A|B|C|D|E|F", null); // over max-values
+		assertInvalid("statusId:eq:A;statusId:eq:B;statusId:eq:C;statusId:eq:D", null); // over max-clauses
+		assertInvalid("dueDate:lt:tomorrow", null); // not a date
+		assertInvalid(null, "statusId"); // not sortable
+		assertInvalid(null, "dueDate,title"); // more than one sort field
+		assertNull(mongoTemplate.lastQuery);
+	}
+
+	private void assertInvalid(String filter, String sort) {
+		assertThrows(IllegalArgumentException.class, () -> service.findTasks("p1", "u1", filter, sort));
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<Document> clauses() {
+		return (List<Document>) mongoTemplate.lastQuery.getQueryObject().get("$and");
+	}
+
+	private Object clause(String field) {
+		return clauses().stream()
+				.filter(clause -> clause.containsKey(field))
+				.findFirst()
+				.orElseThrow(() -> new AssertionError("No clause on " + field))
+				.get(field);
+	}
+
+	private static final class CapturingMongoTemplate extends MongoTemplate {
+		private Query lastQuery;
+
+		private CapturingMongoTemplate(MongoClient client) {
+			super(client, "test");
+		}
+
+		@Override
+		public <T> List<T> find(Query query, Class<T> entityClass) {
+			lastQuery = query;
+			return List.of();
+		}
+	}
+}
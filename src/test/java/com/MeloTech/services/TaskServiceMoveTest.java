@@ -0,0 +1,184 @@
+package com.MeloTech.services;
+
+import com.MeloTech.entities.Task;
+import com.MeloTech.repositories.TaskRepository;
+import com.MeloTech.utils.LexoRank;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskServiceMoveTest {
+	private static final String PROJECT = "p1";
+	private static final String COLUMN = "todo";
+
+	// Never connects: the template below answers from the in-memory column
+	private final MongoClient client = MongoClients.create("mongodb://localhost:27017");
+	private final InMemoryMongoTemplate mongoTemplate = new InMemoryMongoTemplate(client);
+	private final Map<String, Task> tasks = new LinkedHashMap<>();
+	private final TaskService service = new TaskService(mongoTemplate, taskRepository(), null, null, null, null, null,
+			new TaskRankRebalancer(mongoTemplate, null, event -> { }, 12, 500), null, null, null, null,
+			event -> { }, null, "soft");
+
+	private final String first = add(LexoRank.between(null, null));
+	private final String second = add(LexoRank.between(rank(first), null));
+	private final String third = add(LexoRank.between(rank(second), null));
+	private final String moved = add(LexoRank.between(rank(third), null));
+
+	@AfterEach
+	void closeClient() {
+		client.close();
+	}
+
+	@Test
+	void placesACardBelowAnotherWithCardsOnBothSides() {
+		service.moveTask(PROJECT, moved, null, first, null);
+
+		assertBetween(rank(first), rank(moved), rank(second));
+	}
+
+	@Test
+	void placesACardAboveAnotherWithCardsOnBothSides() {
+		service.moveTask(PROJECT, moved, null, null, third);
+
+		assertBetween(rank(second), rank(moved), rank(third));
+	}
+
+	@Test
+	void placesACardAboveTheFirstCard() {
+		service.moveTask(PROJECT, moved, null, null, first);
+
+		assertTrue(rank(moved).compareTo(rank(first)) < 0);
+	}
+
+	@Test
+	void tiedRanksAreOrderedById() {
+		tasks.get(second).setRank(rank(first)); // an earlier concurrent append; first has the lower ID
+		service.moveTask(PROJECT, moved, null, second, null);
+
+		assertBetween(rank(second), rank(moved), rank(third));
+	}
+
+	private String add(String rank) {
+		Task task = new Task(new ObjectId().toHexString(), "Task " + tasks.size(), null, null, COLUMN, null, null,
+				null, null, null, null, null, null, null);
+		task.setProjectId(PROJECT);
+		task.setRank(rank);
+		tasks.put(task.getId(), task);
+		return task.getId();
+	}
+
+	private String rank(String taskId) {
+		return tasks.get(taskId).getRank();
+	}
+
+	private static void assertBetween(String before, String rank, String after) {
+		assertTrue(before.compareTo(rank) < 0 && rank.compareTo(after) < 0, before + " < " + rank + " < " + after);
+	}
+
+	private TaskRepository taskRepository() {
+		return (TaskRepository) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{TaskRepository.class},
+				(proxy, method, args) -> switch (method.getName()) {
+					case "findByIdAndProjectIdAndDeletedFalse" -> Optional.ofNullable(tasks.get((String) args[0]))
+							.filter(task -> task.getProjectId().equals(args[1]))
+							.map(Task::copyOf);
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+	}
+
+	private final class InMemoryMongoTemplate extends MongoTemplate {
+
+		private InMemoryMongoTemplate(MongoClient client) {
+			super(client, "test");
+		}
+
+		@Override
+		public <T> T findOne(Query query, Class<T> entityClass) {
+			assertEquals(1, query.getLimit());
+			List<Document> matches = new ArrayList<>();
+			for (Task task : tasks.values()) {
+				Document document = new Document();
+				getConverter().write(task, document);
+				if (matches(document, query.getQueryObject())) {
+					matches.add(document);
+				}
+			}
+			Comparator<Document> order = null;
+			for (Map.Entry<String, Object> sort : query.getSortObject().entrySet()) {
+				String field = field(sort.getKey());
+				Comparator<Document> byField = Comparator.comparing(document -> compare(document.get(field)));
+				byField = ((Number) sort.getValue()).intValue() < 0 ? byField.reversed() : byField;
+				order = order == null ? byField : order.thenComparing(byField);
+			}
+			if (order != null) {
+				matches.sort(order);
+			}
+			return matches.isEmpty() ? null : entityClass.cast(Task.copyOf(tasks.get(matches.get(0).get("_id").toString())));
+		}
+
+		@Override
+		public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options, Class<T> entityClass) {
+			Task task = tasks.get(query.getQueryObject().get("id").toString());
+			Document set = (Document) update.getUpdateObject().get("$set");
+			task.setStatusId(set.getString("statusId"));
+			task.setRank(set.getString("rank"));
+			return entityClass.cast(Task.copyOf(task));
+		}
+
+		// Equality, $gt, $lt, $or and implicit and: what the board queries use
+		@SuppressWarnings("unchecked")
+		private boolean matches(Document document, Document filter) {
+			for (Map.Entry<String, Object> condition : filter.entrySet()) {
+				if (condition.getKey().equals("$or")) {
+					if (((List<Document>) condition.getValue()).stream().noneMatch(clause -> matches(document, clause))) {
+						return false;
+					}
+					continue;
+				}
+				Object actual = document.get(field(condition.getKey()));
+				if (condition.getValue() instanceof Document operators) {
+					for (Map.Entry<String, Object> operator : operators.entrySet()) {
+						int comparison = actual == null ? -1 : compare(actual).compareTo(compare(operator.getValue()));
+						boolean holds = switch (operator.getKey()) {
+							case "$gt" -> actual != null && comparison > 0;
+							case "$lt" -> actual != null && comparison < 0;
+							default -> throw new UnsupportedOperationException(operator.getKey());
+						};
+						if (!holds) {
+							return false;
+						}
+					}
+				} else if (!condition.getValue().equals(actual)) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		private static String field(String name) {
+			return name.equals("id") ? "_id" : name;
+		}
+
+		@SuppressWarnings("unchecked")
+		private static Comparable<Object> compare(Object value) {
+			return (Comparable<Object>) value;
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.MeloTech.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LexoRankTest {
+
+	@Test
+	void emptyColumnGetsInitialRank() {
+		assertEquals(LexoRank.initial(), LexoRank.between(null, null));
+	}
+
+	@Test
+	void openEndsStepAwayFromTheNeighbour() {
+		String initial = LexoRank.initial();
+		assertBetween(initial, LexoRank.between(initial, null), null);
+		assertBetween(null, LexoRank.between(null, initial), initial);
+	}
+
+	@Test
+	void openEndsFallBackToMidpointWhenTheStepOverflows() {
+		assertBetween("zzzzzz", LexoRank.between("zzzzzz", null), null);
+		assertBetween("zzzzzy", LexoRank.between("zzzzzy", null), null);
+		assertBetween(null, LexoRank.between(null, "000001"), "000001");
+		assertBetween(null, LexoRank.between(null, "1"), "1");
+	}
+
+	@Test
+	void openEndsHandleRanksLongerThanTheStepWidth() {
+		assertBetween("izzzzzzzz1", LexoRank.between("izzzzzzzz1", null), null);
+		assertBetween(null, LexoRank.between(null, "i00000001"), "i00000001");
+	}
+
+	@Test
+	void betweenCopiesTheCommonPrefix() {
+		assertBetween("abc1", LexoRank.between("abc1", "abc2"), "abc2");
+		assertBetween("abc", LexoRank.between("abc", "abd"), "abd");
+		assertTrue(LexoRank.between("abc1", "abc3").startsWith("abc"));
+	}
+
+	@Test
+	void betweenHandlesAdjacentDigits() {
+		assertBetween("a", LexoRank.between("a", "b"), "b");
+		assertBetween("a1", LexoRank.between("a1", "a2"), "a2");
+		assertBetween("y", LexoRank.between("y", "z"), "z");
+		assertBetween("1", LexoRank.between("1", "2"), "2");
+	}
+
+	@Test
+	void betweenHandlesPrefixNeighbours() {
+		assertBetween("a", LexoRank.between("a", "a1"), "a1");
+		assertBetween("a", LexoRank.between("a", "a01"), "a01");
+		assertBetween("a", LexoRank.between("a", "az"), "az");
+		assertBetween("az", LexoRank.between("az", "b"), "b");
+		assertBetween("azzz", LexoRank.between("azzz", "b"), "b");
+	}
+
+	@Test
+	void repeatedInsertsKeepTheOrder() {
+		Random random = new Random(42);
+		List<String> ranks = new ArrayList<>(List.of(LexoRank.initial()));
+		for (int i = 0; i < 2000; i++) {
+			int slot = random.nextInt(ranks.size() + 1);
+			String before = slot == 0 ? null : ranks.get(slot - 1);
+			String after = slot == ranks.size() ? null : ranks.get(slot);
+			String rank = LexoRank.between(before, after);
+			assertBetween(before, rank, after);
+			ranks.add(slot, rank);
+		}
+	}
+
+	@Test
+	void repeatedInsertsAtTheSameSpotKeepTheOrder() {
+		String before = "a";
+		String after = "b";
+		for (int i = 0; i < 200; i++) {
+			String rank = LexoRank.between(before, after);
+			assertBetween(before, rank, after);
+			after = rank;
+		}
+	}
+
+	@Test
+	void betweenRejectsUnorderedOrMalformedRanks() {
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("b", "a"));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a", "a"));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("a0", null));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between(null, "A"));
+		assertThrows(IllegalArgumentException.class, () -> LexoRank.between("", null));
+	}
+
+	@Test
+	void spreadGivesOrderedValidRanks() {
+		for (int count : new int[]{0, 1, 2, 35, 36, 1000, 100_000}) {
+			List<String> ranks = LexoRank.spread(count);
+			assertEquals(count, ranks.size());
+			for (int i = 0; i < ranks.size(); i++) {
+				String before = i == 0 ? null : ranks.get(i - 1);
+				assertBetween(before, ranks.get(i), null);
+			}
+		}
+	}
+
+	@Test
+	void spreadLeavesRoomBetweenRanks() {
+		List<String> ranks = LexoRank.spread(1000);
+		for (int i = 1; i < ranks.size(); i++) {
+			assertBetween(ranks.get(i - 1), LexoRank.between(ranks.get(i - 1), ranks.get(i)), ranks.get(i));
+		}
+	}
+
+	private static void assertBetween(String before, String rank, String after) {
+		assertFalse(rank.isEmpty(), "empty rank");
+		assertFalse(rank.endsWith("0"), () -> "rank " + rank + " ends with 0");
+		if (before != null) {
+			assertTrue(before.compareTo(rank) < 0, () -> rank + " does not sort after " + before);
+		}
+		if (after != null) {
+			assertTrue(rank.compareTo(after) < 0, () -> rank + " does not sort before " + after);
+		}
+	}
+}